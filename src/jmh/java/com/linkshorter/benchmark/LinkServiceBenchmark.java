@@ -0,0 +1,284 @@
+package com.linkshorter.benchmark;
+
+import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.model.Link;
+import com.linkshorter.model.User;
+import com.linkshorter.persistence.WriteAheadLog;
+import com.linkshorter.repository.DurableLinkRepository;
+import com.linkshorter.repository.InMemoryLinkRepository;
+import com.linkshorter.repository.LinkRepository;
+import com.linkshorter.repository.LinkRepositoryFactory;
+import com.linkshorter.repository.OffHeapLinkRepository;
+import com.linkshorter.service.BatchCreateResult;
+import com.linkshorter.service.LinkService;
+import com.linkshorter.service.NotificationService;
+import com.linkshorter.service.RedirectResult;
+import com.linkshorter.service.ShortCodeGenerator;
+import com.linkshorter.util.CoarseTimeSource;
+import com.linkshorter.util.TimeSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks for the LinkService hot paths: redirect, creation and cleanup.
+ * Run with: mvn -Pbenchmark package && java -jar target/benchmarks.jar LinkServiceBenchmark
+ * Compare storage engines with: -p engine=memory,wal,offheap
+ * Compare expiry clocks with: -p clock=system,coarse
+ * Compare the Optional and holder redirect APIs with: LinkServiceBenchmark.'(followLink|redirect)' -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class LinkServiceBenchmark {
+    private static final int BULK_SIZE = 1_000_000;
+    /**
+     * Share of linkCount seeded as already expired before every cleanup run
+     */
+    private static final double EXPIRED_SHARE = 0.1;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int linkCount;
+
+    @Param({"false", "true"})
+    public boolean notifications;
+
+    @Param({LinkRepositoryFactory.ENGINE_MEMORY})
+    public String engine;
+
+    @Param({"coarse"})
+    public String clock;
+
+    private LinkRepository repository;
+    private LinkService linkService;
+    private NotificationService notificationService;
+    private CoarseTimeSource coarseClock;
+    private ShortCodeGenerator codeGenerator;
+    private String[] shortCodes;
+    private User user;
+    private Path dataDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        AppConfiguration config = new AppConfiguration();
+        codeGenerator = new ShortCodeGenerator(config.getShortCodeLength());
+        repository = createRepository();
+        notificationService = new NotificationService(notifications);
+        TimeSource timeSource = TimeSource.SYSTEM;
+        if ("coarse".equals(clock)) {
+            coarseClock = new CoarseTimeSource();
+            timeSource = coarseClock;
+        }
+        linkService = new LinkService(repository, codeGenerator, notificationService, config, timeSource);
+        user = User.createNew();
+
+        // Populate through the repository so that setup does not depend on notification output
+        Instant now = Instant.now();
+        shortCodes = seed("https://example.com/page/", linkCount, now, now.plus(365, ChronoUnit.DAYS));
+    }
+
+    /**
+     * Store count links under free codes, retrying with a salt like the service does, so that
+     * colliding codes at large link counts do not silently replace each other
+     */
+    private String[] seed(String urlPrefix, int count, Instant createdAt, Instant expiresAt) {
+        String[] codes = new String[count];
+        UUID ownerId = user.getId();
+        for (int i = 0; i < count; i++) {
+            String url = urlPrefix + i;
+            for (int attempt = 0; codes[i] == null; attempt++) {
+                String shortCode = codeGenerator.generateShortCode(url, ownerId, attempt);
+                boolean saved = repository.saveIfAbsent(new Link.Builder()
+                        .shortCode(shortCode)
+                        .originalUrl(url)
+                        .ownerId(ownerId)
+                        .createdAt(createdAt)
+                        .expiresAt(expiresAt)
+                        .clickLimit(Integer.MAX_VALUE)
+                        .build());
+                if (saved) {
+                    codes[i] = shortCode;
+                }
+            }
+        }
+        return codes;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        notificationService.close();
+        repository.close();
+        if (coarseClock != null) {
+            coarseClock.close();
+        }
+        if (dataDirectory != null) {
+            try (Stream<Path> files = Files.walk(dataDirectory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Engines with files live in a temporary directory so that runs do not see each other's data
+     */
+    private LinkRepository createRepository() throws IOException {
+        if (LinkRepositoryFactory.ENGINE_MEMORY.equals(engine)) {
+            return new InMemoryLinkRepository();
+        }
+
+        dataDirectory = Files.createTempDirectory("link-benchmark-");
+        return switch (engine) {
+            case LinkRepositoryFactory.ENGINE_WAL -> new DurableLinkRepository(
+                    new WriteAheadLog(dataDirectory, 64L * 1024 * 1024, 1024), 1000);
+            // Headroom for the links added by the creation benchmarks
+            case LinkRepositoryFactory.ENGINE_OFFHEAP -> new OffHeapLinkRepository(dataDirectory, linkCount * 2 + (1 << 22));
+            default -> throw new IllegalArgumentException("Unknown repository engine: " + engine);
+        };
+    }
+
+    /**
+     * Per-thread cursor so that concurrent threads walk different links
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        final RedirectResult result = new RedirectResult();
+        int next;
+        long created;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            next = (int) (Math.random() * Integer.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> followLink(Cursor cursor) {
+        return linkService.followLink(nextCode(cursor));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<String> followLinkConcurrent(Cursor cursor) {
+        return linkService.followLink(nextCode(cursor));
+    }
+
+    /**
+     * Same work as followLink, reporting the outcome in a reused holder instead of an Optional
+     */
+    @Benchmark
+    @Threads(1)
+    public String redirect(Cursor cursor) {
+        return linkService.redirect(nextCode(cursor), cursor.result).getTargetUrl();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String redirectConcurrent(Cursor cursor) {
+        return linkService.redirect(nextCode(cursor), cursor.result).getTargetUrl();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> followLinkHot() {
+        // Every call hits the same link: worst case for per-link contention
+        return linkService.followLink(shortCodes[0]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<String> followLinkHotConcurrent() {
+        return linkService.followLink(shortCodes[0]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String redirectHot(Cursor cursor) {
+        return linkService.redirect(shortCodes[0], cursor.result).getTargetUrl();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Link createLink(Cursor cursor) {
+        return linkService.createLink("https://example.org/new/" + Thread.currentThread().getId()
+                + "/" + cursor.created++, user);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Link createLinkConcurrent(Cursor cursor) {
+        return linkService.createLink("https://example.org/new/" + Thread.currentThread().getId()
+                + "/" + cursor.created++, user);
+    }
+
+    /**
+     * Bulk import of a campaign list in one call
+     */
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public BatchCreateResult createLinksBulk(Cursor cursor) {
+        long run = cursor.created++;
+        List<String> urls = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            urls.add("https://example.org/bulk/" + run + "/" + i);
+        }
+        return linkService.createLinks(urls, user);
+    }
+
+    /**
+     * Expired links for one cleanup run, seeded again before every invocation
+     */
+    @State(Scope.Benchmark)
+    public static class ExpiredLinks {
+        int seeded;
+
+        @Setup(Level.Invocation)
+        public void seed(LinkServiceBenchmark benchmark) {
+            Instant expiresAt = Instant.now().minus(1, ChronoUnit.DAYS);
+            seeded = benchmark.seed("https://example.com/expired/", (int) (benchmark.linkCount * EXPIRED_SHARE),
+                    expiresAt.minus(1, ChronoUnit.DAYS), expiresAt).length;
+        }
+
+        @TearDown(Level.Invocation)
+        public void check(LinkServiceBenchmark benchmark) {
+            if (benchmark.repository.count() != benchmark.linkCount) {
+                throw new IllegalStateException("Cleanup left " + (benchmark.repository.count() - benchmark.linkCount)
+                        + " of " + seeded + " expired links");
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public int cleanupExpiredLinks(ExpiredLinks expired) {
+        // A tenth of the store is due, so this measures finding and deleting it as well as the sweep
+        return linkService.cleanupExpiredLinks();
+    }
+
+    private String nextCode(Cursor cursor) {
+        int index = (cursor.next++ & Integer.MAX_VALUE) % shortCodes.length;
+        return shortCodes[index];
+    }
+}
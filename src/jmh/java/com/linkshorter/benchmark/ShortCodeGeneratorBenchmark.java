@@ -0,0 +1,75 @@
+package com.linkshorter.benchmark;
+
+import com.linkshorter.service.SequenceShortCodeGenerator;
+import com.linkshorter.service.ShortCodeGenerator;
+import com.linkshorter.util.Base62;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for short code generation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShortCodeGeneratorBenchmark {
+
+    private ShortCodeGenerator generator;
+    private ShortCodeGenerator sequenceGenerator;
+    private UUID userId;
+    private String code;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new ShortCodeGenerator(6);
+        sequenceGenerator = new SequenceShortCodeGenerator(6, 1024);
+        userId = UUID.randomUUID();
+        code = generator.generateShortCode("https://example.com", userId);
+    }
+
+    @State(Scope.Thread)
+    public static class Counter {
+        long value;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateShortCode(Counter counter) {
+        return generator.generateShortCode("https://example.com/page/" + counter.value++, userId);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateShortCodeConcurrent(Counter counter) {
+        return generator.generateShortCode("https://example.com/page/" + counter.value++, userId);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateSequenceCode(Counter counter) {
+        return sequenceGenerator.generateShortCode("https://example.com/page/" + counter.value++, userId);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateSequenceCodeConcurrent(Counter counter) {
+        return sequenceGenerator.generateShortCode("https://example.com/page/" + counter.value++, userId);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean isValidShortCode() {
+        return generator.isValidShortCode(code);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long packShortCode() {
+        return Base62.pack(code);
+    }
+}
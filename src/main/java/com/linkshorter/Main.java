@@ -2,16 +2,21 @@ package com.linkshorter;
 
 import com.linkshorter.cli.CommandProcessor;
 import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.http.HttpRedirectServer;
 import com.linkshorter.model.User;
 import com.linkshorter.repository.LinkRepository;
+import com.linkshorter.repository.LinkRepositoryFactory;
 import com.linkshorter.service.*;
+import com.linkshorter.util.CoarseTimeSource;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
  * Main entry point for the Link Shortener application
  */
 public class Main {
+    private static final long NOTIFICATION_FLUSH_TIMEOUT = 1000;
     private static final String BANNER = """
             ╔══════════════════════════════════════════════════════════════════════╗
             ║                                                                      ║
@@ -28,19 +33,42 @@ public class Main {
 
         // Initialize application
         AppConfiguration config = new AppConfiguration();
-        LinkRepository repository = new LinkRepository();
-        ShortCodeGenerator codeGenerator = new ShortCodeGenerator(config.getShortCodeLength());
-        NotificationService notificationService = new NotificationService(config.isNotificationsEnabled());
-        LinkService linkService = new LinkService(repository, codeGenerator, notificationService, config);
+        if (config.getExternalFile() != null) {
+            try {
+                config.startWatching();
+            } catch (IOException e) {
+                System.out.println("✗ Не удалось отслеживать файл конфигурации: " + e.getMessage());
+            }
+        }
+        LinkRepository repository = LinkRepositoryFactory.create(config);
+        ShortCodeGenerator codeGenerator = createCodeGenerator(config);
+        NotificationService notificationService = new NotificationService(config);
+        CoarseTimeSource clock = new CoarseTimeSource();
+        LinkService linkService = new LinkService(repository, codeGenerator, notificationService, config, clock);
 
         // Start cleanup scheduler
         CleanupScheduler cleanupScheduler = new CleanupScheduler(linkService, config);
         cleanupScheduler.start();
 
+        // Start HTTP front end
+        HttpRedirectServer httpServer = new HttpRedirectServer(linkService, config);
+        if (config.isHttpEnabled()) {
+            try {
+                httpServer.start();
+            } catch (IOException e) {
+                System.out.println("✗ Не удалось запустить HTTP-сервер: " + e.getMessage());
+            }
+        }
+
         // Setup shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("\nЗавершение работы...");
+            httpServer.stop();
             cleanupScheduler.stop();
+            notificationService.close();
+            repository.close();
+            clock.close();
+            config.close();
         }));
 
         // Initialize CLI
@@ -59,6 +87,13 @@ public class Main {
         Scanner scanner = new Scanner(System.in);
         while (true) {
             System.out.print("> ");
+            if (!scanner.hasNextLine()) {
+                // stdin closed (e.g. running as a daemon): keep serving HTTP until terminated
+                if (config.isHttpEnabled()) {
+                    awaitTermination();
+                }
+                break;
+            }
             String input = scanner.nextLine();
 
             if (input.trim().equalsIgnoreCase("exit")) {
@@ -66,13 +101,36 @@ public class Main {
             }
 
             commandProcessor.processCommand(input);
+            // Let the command's notifications reach the console before the next prompt
+            notificationService.flush(NOTIFICATION_FLUSH_TIMEOUT);
         }
 
         scanner.close();
+        httpServer.stop();
         cleanupScheduler.stop();
+        notificationService.close();
+        repository.close();
+        clock.close();
+        config.close();
         System.out.println("До свидания!");
     }
 
+    private static ShortCodeGenerator createCodeGenerator(AppConfiguration config) {
+        return switch (config.getShortCodeStrategy()) {
+            case "hash" -> new ShortCodeGenerator(config.getShortCodeLength());
+            case "sequence" -> new SequenceShortCodeGenerator(config.getShortCodeLength(), config.getShortCodeBlockSize());
+            default -> throw new IllegalArgumentException("Unknown short code strategy: " + config.getShortCodeStrategy());
+        };
+    }
+
+    private static void awaitTermination() {
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static User getUserFromArgs(String[] args) {
         if (args.length > 0) {
             try {
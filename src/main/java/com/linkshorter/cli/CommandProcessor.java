@@ -2,15 +2,26 @@ package com.linkshorter.cli;
 
 import com.linkshorter.model.Link;
 import com.linkshorter.model.User;
+import com.linkshorter.repository.LinkPage;
+import com.linkshorter.service.BatchCreateResult;
 import com.linkshorter.service.LinkService;
+import com.linkshorter.service.RedirectResult;
+import com.linkshorter.service.RestoreResult;
 
 import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Processes CLI commands
@@ -18,16 +29,25 @@ import java.util.Optional;
 public class CommandProcessor {
     private static final DateTimeFormatter DATE_FORMATTER =
             DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_REJECTED_SHOWN = 5;
 
     private final LinkService linkService;
+    private final RedirectResult redirectResult = new RedirectResult();
     private User currentUser;
 
+    // Position of the last page shown by "list", continued by "list next"
+    private String listCursor;
+    private int listPageSize = DEFAULT_PAGE_SIZE;
+    private int listShown;
+
     public CommandProcessor(LinkService linkService) {
         this.linkService = linkService;
     }
 
     public void setCurrentUser(User user) {
         this.currentUser = user;
+        this.listCursor = null;
     }
 
     public User getCurrentUser() {
@@ -48,8 +68,11 @@ public class CommandProcessor {
         try {
             switch (action) {
                 case "create" -> handleCreate(parts);
+                case "import" -> handleImport(parts);
+                case "export" -> handleExport(parts);
+                case "restore" -> handleRestore(parts);
                 case "open" -> handleOpen(parts);
-                case "list" -> handleList();
+                case "list" -> handleList(parts);
                 case "info" -> handleInfo(parts);
                 case "delete" -> handleDelete(parts);
                 case "update" -> handleUpdate(parts);
@@ -93,6 +116,106 @@ public class CommandProcessor {
         }
     }
 
+    /**
+     * One URL per line; blank lines and lines starting with # are skipped
+     */
+    private void handleImport(String[] parts) {
+        if (parts.length < 2) {
+            System.out.println("Использование: import <файл> [лимит_переходов]");
+            return;
+        }
+
+        String[] args = parts[1].split("\\s+");
+        Path file = Path.of(args[0]);
+        int clickLimit = -1;
+        if (args.length > 1) {
+            try {
+                clickLimit = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                System.out.println("✗ Неверный формат лимита переходов");
+                return;
+            }
+        }
+
+        List<String> urls;
+        try (Stream<String> lines = Files.lines(file)) {
+            urls = lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("✗ Не удалось прочитать файл: " + e.getMessage());
+            return;
+        }
+
+        long started = System.nanoTime();
+        BatchCreateResult result = clickLimit > 0
+                ? linkService.createLinks(urls, currentUser, clickLimit)
+                : linkService.createLinks(urls, currentUser);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        System.out.println("Обработано URL: " + urls.size() + " за " + elapsedMillis + " мс");
+        result.rejectedUrls().stream().limit(MAX_REJECTED_SHOWN)
+                .forEach(url -> System.out.println("  ✗ Отклонён: " + url));
+        if (result.getRejectedCount() > MAX_REJECTED_SHOWN) {
+            System.out.println("  ... и ещё " + (result.getRejectedCount() - MAX_REJECTED_SHOWN));
+        }
+        // Links created before the import are no longer the end of the list
+        listCursor = null;
+    }
+
+    /**
+     * All links of all users, for backups and migration
+     */
+    private void handleExport(String[] parts) {
+        if (parts.length < 2) {
+            System.out.println("Использование: export <файл.csv|файл.ndjson>");
+            return;
+        }
+
+        Path file = Path.of(parts[1].trim());
+        long started = System.nanoTime();
+        long count;
+        try {
+            count = linkService.exportLinks(file);
+        } catch (IOException e) {
+            System.out.println("✗ Не удалось записать файл: " + e.getMessage());
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        System.out.println("✓ Выгружено ссылок: " + count + " в " + file + " за " + elapsedMillis + " мс");
+    }
+
+    private void handleRestore(String[] parts) {
+        if (parts.length < 2) {
+            System.out.println("Использование: restore <файл.csv|файл.ndjson>");
+            return;
+        }
+
+        Path file = Path.of(parts[1].trim());
+        long started = System.nanoTime();
+        RestoreResult result;
+        try {
+            result = linkService.restoreLinks(file);
+        } catch (IOException e) {
+            System.out.println("✗ Не удалось прочитать файл: " + e.getMessage());
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        System.out.println("✓ Загружено ссылок: " + result.restored() + " за " + elapsedMillis + " мс");
+        if (result.duplicates() > 0) {
+            System.out.println("  Пропущено (код уже занят): " + result.duplicates());
+        }
+        if (result.expired() > 0) {
+            System.out.println("  Пропущено (срок истёк): " + result.expired());
+        }
+        if (result.rejected() > 0) {
+            System.out.println("  Некорректных строк: " + result.rejected());
+            result.errors().forEach(error -> System.out.println("  ✗ " + error));
+        }
+        listCursor = null;
+    }
+
     private void handleOpen(String[] parts) {
         if (parts.length < 2) {
             System.out.println("Использование: open <короткий_код>");
@@ -100,10 +223,10 @@ public class CommandProcessor {
         }
 
         String shortCode = parts[1].trim();
-        Optional<String> urlOpt = linkService.followLink(shortCode);
+        RedirectResult result = linkService.redirect(shortCode, redirectResult);
 
-        if (urlOpt.isPresent()) {
-            String url = urlOpt.get();
+        if (result.isRedirect()) {
+            String url = result.getTargetUrl();
             System.out.println("Переход по ссылке: " + url);
 
             // Open in browser
@@ -122,25 +245,91 @@ public class CommandProcessor {
         }
     }
 
-    private void handleList() {
-        List<Link> links = linkService.getUserLinks(currentUser);
+    private void handleList(String[] parts) {
+        String arg = parts.length > 1 ? parts[1].trim().toLowerCase() : "";
 
-        if (links.isEmpty()) {
-            System.out.println("\nУ вас пока нет сокращённых ссылок.");
-            System.out.println("Создайте новую ссылку командой: create <URL>");
-            return;
+        switch (arg) {
+            case "" -> showListPage(null, DEFAULT_PAGE_SIZE);
+            case "next" -> {
+                if (listCursor == null) {
+                    System.out.println("Больше ссылок нет. Введите 'list', чтобы начать сначала.");
+                    return;
+                }
+                showListPage(listCursor, listPageSize);
+            }
+            case "all" -> showAllLinks();
+            default -> {
+                int pageSize;
+                try {
+                    pageSize = Integer.parseInt(arg);
+                } catch (NumberFormatException e) {
+                    System.out.println("Использование: list [размер_страницы | next | all]");
+                    return;
+                }
+                if (pageSize <= 0) {
+                    System.out.println("✗ Размер страницы должен быть положительным");
+                    return;
+                }
+                showListPage(null, pageSize);
+            }
+        }
+    }
+
+    private void showListPage(String cursor, int pageSize) {
+        LinkPage page = linkService.getUserLinks(currentUser, cursor, pageSize);
+
+        if (cursor == null) {
+            listShown = 0;
+            if (page.links().isEmpty()) {
+                System.out.println("\nУ вас пока нет сокращённых ссылок.");
+                System.out.println("Создайте новую ссылку командой: create <URL>");
+                listCursor = null;
+                return;
+            }
         }
 
         System.out.println("\n" + "=".repeat(100));
         System.out.println("Ваши ссылки:");
         System.out.println("=".repeat(100));
 
-        for (Link link : links) {
+        for (Link link : page.links()) {
             printLinkInfo(link);
             System.out.println("-".repeat(100));
         }
 
-        System.out.println("Всего ссылок: " + links.size());
+        listShown += page.links().size();
+        listCursor = page.nextCursor();
+        listPageSize = pageSize;
+
+        if (page.hasNext()) {
+            System.out.println("Показано ссылок: " + listShown + ". Следующая страница: list next");
+        } else {
+            System.out.println("Всего ссылок: " + listShown);
+        }
+    }
+
+    private void showAllLinks() {
+        AtomicInteger shown = new AtomicInteger();
+
+        // Links are printed as they are read, the full list is never held in memory
+        try (Stream<Link> links = linkService.streamUserLinks(currentUser)) {
+            links.forEach(link -> {
+                if (shown.getAndIncrement() == 0) {
+                    System.out.println("\n" + "=".repeat(100));
+                    System.out.println("Ваши ссылки:");
+                    System.out.println("=".repeat(100));
+                }
+                printLinkInfo(link);
+                System.out.println("-".repeat(100));
+            });
+        }
+
+        if (shown.get() == 0) {
+            System.out.println("\nУ вас пока нет сокращённых ссылок.");
+            System.out.println("Создайте новую ссылку командой: create <URL>");
+            return;
+        }
+        System.out.println("Всего ссылок: " + shown.get());
     }
 
     private void handleInfo(String[] parts) {
@@ -221,10 +410,20 @@ public class CommandProcessor {
         System.out.println("  create <URL> [лимит]    - Создать короткую ссылку");
         System.out.println("                            Пример: create https://example.com 50");
         System.out.println();
+        System.out.println("  import <файл> [лимит]   - Создать ссылки для всех URL из файла (по одному в строке)");
+        System.out.println("                            Пример: import campaign.txt 1000");
+        System.out.println();
+        System.out.println("  export <файл>           - Выгрузить все ссылки в CSV или NDJSON (по расширению)");
+        System.out.println("                            Пример: export backup.ndjson");
+        System.out.println("  restore <файл>          - Загрузить ссылки из выгрузки с переходами и сроками");
+        System.out.println("                            Пример: restore backup.ndjson");
+        System.out.println();
         System.out.println("  open <код>              - Открыть ссылку в браузере");
         System.out.println("                            Пример: open aBc123");
         System.out.println();
-        System.out.println("  list                    - Показать все ваши ссылки");
+        System.out.println("  list [размер]           - Показать ваши ссылки постранично (по " + DEFAULT_PAGE_SIZE + ")");
+        System.out.println("  list next               - Показать следующую страницу");
+        System.out.println("  list all                - Показать все ваши ссылки сразу");
         System.out.println();
         System.out.println("  info <код>              - Показать информацию о ссылке");
         System.out.println("                            Пример: info aBc123");
@@ -250,7 +449,7 @@ public class CommandProcessor {
 
     private void printLinkInfo(Link link) {
         String status = link.isActive() ? "✓ Активна" : "✗ Неактивна";
-        String expired = link.isExpired() ? " (ИСТЕКЛА)" : "";
+        String expired = linkService.isExpired(link) ? " (ИСТЕКЛА)" : "";
 
         System.out.println("  Короткий код: " + link.getShortCode());
         System.out.println("  Исходный URL: " + link.getOriginalUrl());
@@ -2,22 +2,214 @@ package com.linkshorter.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * Application configuration loader
- * Reads configuration from application.properties file
+ * <p>
+ * Settings are layered: application.properties from the classpath, then an optional external
+ * file, then environment variables (LINKSHORTER_LINK_TTL_DEFAULT for link.ttl.default), then
+ * system properties. The result is parsed and validated into an immutable {@link ConfigSnapshot};
+ * a reload builds a new snapshot and publishes it with a single volatile write, so readers never
+ * see a half-applied change and an invalid file leaves the current settings in place.
  */
-public class AppConfiguration {
+public class AppConfiguration implements AutoCloseable {
+    /**
+     * System property and environment variable naming the external configuration file
+     */
+    public static final String CONFIG_FILE_PROPERTY = "config.file";
+    public static final String CONFIG_FILE_ENV = "LINKSHORTER_CONFIG";
+    static final String ENV_PREFIX = "LINKSHORTER_";
+
     private static final String CONFIG_FILE = "application.properties";
-    private final Properties properties;
+    // Editors often write a file in several steps, let them finish before reloading
+    private static final long RELOAD_SETTLE_MILLIS = 100;
+
+    private final Properties defaults;
+    private final Path externalFile;
+    private final Map<String, String> environment;
+    private final Properties systemProperties;
+    private volatile ConfigSnapshot snapshot;
+    private WatchService watchService;
+    private Thread watcher;
 
     public AppConfiguration() {
-        this.properties = new Properties();
-        loadConfiguration();
+        this(externalFileFrom(System.getProperties(), System.getenv()), System.getenv(), System.getProperties());
+    }
+
+    /**
+     * @param externalFile     file overriding the classpath defaults, or null
+     * @param environment      environment variables to take overrides from
+     * @param systemProperties system properties to take overrides from
+     * @throws IllegalArgumentException if a setting has an invalid value
+     */
+    public AppConfiguration(Path externalFile, Map<String, String> environment, Properties systemProperties) {
+        this.defaults = loadDefaults();
+        this.externalFile = externalFile;
+        this.environment = environment;
+        this.systemProperties = systemProperties;
+        try {
+            this.snapshot = new ConfigSnapshot(merge());
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading configuration from " + externalFile, e);
+        }
+    }
+
+    /**
+     * Current settings; read it once and use the returned object for a consistent view
+     */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public Path getExternalFile() {
+        return externalFile;
+    }
+
+    /**
+     * Re-read all layers and publish the new settings
+     * <p>
+     * Settings read per request (TTL, click limit, domain, counter thresholds) apply to the next
+     * request; components configured once at startup keep their values until restart.
+     *
+     * @return false if the configuration could not be read or is invalid; the current one is kept
+     */
+    public synchronized boolean reload() {
+        ConfigSnapshot next;
+        try {
+            next = new ConfigSnapshot(merge());
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("[Config] Конфигурация не перезагружена, используются прежние настройки: " + e.getMessage());
+            return false;
+        }
+        snapshot = next;
+        System.out.println("[Config] Конфигурация перезагружена из " + externalFile);
+        return true;
+    }
+
+    /**
+     * Reload whenever the external file changes
+     *
+     * @throws IllegalStateException if there is no external file
+     */
+    public synchronized void startWatching() throws IOException {
+        if (externalFile == null) {
+            throw new IllegalStateException("No external configuration file to watch");
+        }
+        if (watcher != null) {
+            return;
+        }
+        Path directory = externalFile.toAbsolutePath().getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcher = new Thread(() -> watch(watchService), "ConfigWatcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        System.out.println("[Config] Отслеживаются изменения файла " + externalFile);
+    }
+
+    /**
+     * Stop watching the external file
+     */
+    @Override
+    public void close() {
+        Thread stopping;
+        synchronized (this) {
+            if (watcher == null) {
+                return;
+            }
+            stopping = watcher;
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // The watcher thread stops either way
+            }
+            watcher = null;
+            watchService = null;
+        }
+        // Joined outside the lock: a reload in progress needs it to finish
+        try {
+            stopping.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void watch(WatchService service) {
+        Path fileName = externalFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    Thread.sleep(RELOAD_SETTLE_MILLIS);
+                    // Fold the events of the same save into one reload
+                    WatchKey pending = service.poll();
+                    if (pending != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    private Properties merge() throws IOException {
+        Properties merged = new Properties();
+        merged.putAll(defaults);
+        if (externalFile != null) {
+            try (InputStream input = Files.newInputStream(externalFile)) {
+                merged.load(input);
+            }
+        }
+        for (String key : merged.stringPropertyNames()) {
+            String value = environment.get(environmentName(key));
+            if (value != null) {
+                merged.setProperty(key, value);
+            }
+        }
+        for (String key : merged.stringPropertyNames()) {
+            String value = systemProperties.getProperty(key);
+            if (value != null) {
+                merged.setProperty(key, value);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Environment variable overriding a setting: link.code.max-attempts -> LINKSHORTER_LINK_CODE_MAX_ATTEMPTS
+     */
+    static String environmentName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    private static Path externalFileFrom(Properties systemProperties, Map<String, String> environment) {
+        String file = systemProperties.getProperty(CONFIG_FILE_PROPERTY, environment.get(CONFIG_FILE_ENV));
+        return file == null || file.isBlank() ? null : Path.of(file.trim());
     }
 
-    private void loadConfiguration() {
+    private Properties loadDefaults() {
+        Properties properties = new Properties();
         try (InputStream input = getClass().getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input == null) {
                 throw new RuntimeException("Unable to find " + CONFIG_FILE);
@@ -26,34 +218,202 @@ public class AppConfiguration {
         } catch (IOException e) {
             throw new RuntimeException("Error loading configuration", e);
         }
+        return properties;
     }
 
     public long getDefaultTtl() {
-        return Long.parseLong(properties.getProperty("link.ttl.default", "86400000"));
+        return snapshot.getDefaultTtl();
     }
 
     public int getDefaultClickLimit() {
-        return Integer.parseInt(properties.getProperty("link.click.limit.default", "100"));
+        return snapshot.getDefaultClickLimit();
+    }
+
+    /**
+     * Links with a click limit at or above this value use a striped click counter
+     */
+    public int getStripedCounterMinLimit() {
+        return snapshot.getStripedCounterMinLimit();
+    }
+
+    /**
+     * Remaining clicks below which a striped counter switches to exact counting
+     */
+    public int getStripedCounterExactThreshold() {
+        return snapshot.getStripedCounterExactThreshold();
     }
 
     public String getLinkDomain() {
-        return properties.getProperty("link.domain", "clck.ru");
+        return snapshot.getLinkDomain();
     }
 
     public int getShortCodeLength() {
-        return Integer.parseInt(properties.getProperty("link.code.length", "6"));
+        return snapshot.getShortCodeLength();
+    }
+
+    /**
+     * Short code strategy: hash (derived from URL and user) or sequence (scrambled counter)
+     */
+    public String getShortCodeStrategy() {
+        return snapshot.getShortCodeStrategy();
+    }
+
+    /**
+     * Number of sequence IDs a thread reserves at once (sequence strategy)
+     */
+    public int getShortCodeBlockSize() {
+        return snapshot.getShortCodeBlockSize();
+    }
+
+    /**
+     * Number of salted codes tried before giving up on a collision
+     */
+    public int getShortCodeMaxAttempts() {
+        return snapshot.getShortCodeMaxAttempts();
     }
 
     public long getCleanupInterval() {
-        return Long.parseLong(properties.getProperty("cleanup.interval", "3600000"));
+        return snapshot.getCleanupInterval();
+    }
+
+    /**
+     * Cleanup mode: full (one pass) or incremental (bounded batches)
+     */
+    public String getCleanupMode() {
+        return snapshot.getCleanupMode();
+    }
+
+    public int getCleanupBatchSize() {
+        return snapshot.getCleanupBatchSize();
+    }
+
+    public long getCleanupBatchBudget() {
+        return snapshot.getCleanupBatchBudget();
+    }
+
+    public long getCleanupBatchPause() {
+        return snapshot.getCleanupBatchPause();
     }
 
     public boolean isNotificationsEnabled() {
-        return Boolean.parseBoolean(properties.getProperty("notifications.enabled", "true"));
+        return snapshot.isNotificationsEnabled();
+    }
+
+    /**
+     * Number of notifications buffered for each sink
+     */
+    public int getNotificationQueueCapacity() {
+        return snapshot.getNotificationQueueCapacity();
+    }
+
+    /**
+     * What to do when the notification buffer is full: drop or block
+     */
+    public String getNotificationOverflowPolicy() {
+        return snapshot.getNotificationOverflowPolicy();
+    }
+
+    public int getNotificationBatchSize() {
+        return snapshot.getNotificationBatchSize();
+    }
+
+    /**
+     * Comma-separated notification sinks: console, file, socket
+     */
+    public String getNotificationSinks() {
+        return snapshot.getNotificationSinks();
+    }
+
+    public String getNotificationFileDirectory() {
+        return snapshot.getNotificationFileDirectory();
+    }
+
+    public long getNotificationFileMaxSize() {
+        return snapshot.getNotificationFileMaxSize();
+    }
+
+    public int getNotificationFileMaxFiles() {
+        return snapshot.getNotificationFileMaxFiles();
+    }
+
+    public String getNotificationSocketPath() {
+        return snapshot.getNotificationSocketPath();
+    }
+
+    /**
+     * Storage engine: memory, wal or offheap
+     */
+    public String getRepositoryEngine() {
+        return snapshot.getRepositoryEngine();
+    }
+
+    public String getWalDirectory() {
+        return snapshot.getWalDirectory();
+    }
+
+    public long getWalSegmentSize() {
+        return snapshot.getWalSegmentSize();
+    }
+
+    public int getWalMaxBatch() {
+        return snapshot.getWalMaxBatch();
+    }
+
+    public long getWalClickFlushInterval() {
+        return snapshot.getWalClickFlushInterval();
+    }
+
+    /**
+     * Interval between background snapshots of a durable store, 0 disables periodic snapshots
+     */
+    public long getSnapshotInterval() {
+        return snapshot.getSnapshotInterval();
+    }
+
+    public String getOffHeapDirectory() {
+        return snapshot.getOffHeapDirectory();
+    }
+
+    public int getOffHeapCapacity() {
+        return snapshot.getOffHeapCapacity();
+    }
+
+    /**
+     * Slots in the short code lookup cache of the wal and offheap engines, 0 disables the cache
+     */
+    public int getRepositoryCacheSize() {
+        return snapshot.getRepositoryCacheSize();
+    }
+
+    /**
+     * Initial size of the short code Bloom filter of the wal and offheap engines, 0 disables the filter
+     */
+    public long getBloomExpectedLinks() {
+        return snapshot.getBloomExpectedLinks();
+    }
+
+    public double getBloomFalsePositiveRate() {
+        return snapshot.getBloomFalsePositiveRate();
+    }
+
+    public boolean isHttpEnabled() {
+        return snapshot.isHttpEnabled();
+    }
+
+    public int getHttpPort() {
+        return snapshot.getHttpPort();
+    }
+
+    public int getHttpThreads() {
+        return snapshot.getHttpThreads();
+    }
+
+    public int getHttpBacklog() {
+        return snapshot.getHttpBacklog();
     }
 
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return snapshot.getProperty(key, defaultValue);
     }
 }
 
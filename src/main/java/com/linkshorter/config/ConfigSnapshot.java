@@ -0,0 +1,338 @@
+package com.linkshorter.config;
+
+import java.util.Properties;
+
+/**
+ * Immutable, pre-parsed view of the configuration
+ * <p>
+ * Every value is parsed and validated once when the snapshot is built, so readers only load
+ * final fields. A configuration change produces a new snapshot instead of modifying this one.
+ */
+public final class ConfigSnapshot {
+    private final Properties properties;
+
+    private final long defaultTtl;
+    private final int defaultClickLimit;
+    private final int stripedCounterMinLimit;
+    private final int stripedCounterExactThreshold;
+    private final String linkDomain;
+    private final int shortCodeLength;
+    private final String shortCodeStrategy;
+    private final int shortCodeBlockSize;
+    private final int shortCodeMaxAttempts;
+
+    private final long cleanupInterval;
+    private final String cleanupMode;
+    private final int cleanupBatchSize;
+    private final long cleanupBatchBudget;
+    private final long cleanupBatchPause;
+
+    private final boolean notificationsEnabled;
+    private final int notificationQueueCapacity;
+    private final String notificationOverflowPolicy;
+    private final int notificationBatchSize;
+    private final String notificationSinks;
+    private final String notificationFileDirectory;
+    private final long notificationFileMaxSize;
+    private final int notificationFileMaxFiles;
+    private final String notificationSocketPath;
+
+    private final String repositoryEngine;
+    private final String walDirectory;
+    private final long walSegmentSize;
+    private final int walMaxBatch;
+    private final long walClickFlushInterval;
+    private final long snapshotInterval;
+    private final String offHeapDirectory;
+    private final int offHeapCapacity;
+    private final int repositoryCacheSize;
+    private final long bloomExpectedLinks;
+    private final double bloomFalsePositiveRate;
+
+    private final boolean httpEnabled;
+    private final int httpPort;
+    private final int httpThreads;
+    private final int httpBacklog;
+
+    /**
+     * Parse and validate all settings
+     *
+     * @throws IllegalArgumentException naming the first setting with an invalid value
+     */
+    public ConfigSnapshot(Properties source) {
+        this.properties = new Properties();
+        properties.putAll(source);
+
+        this.defaultTtl = positiveLong("link.ttl.default", "86400000");
+        this.defaultClickLimit = positiveInt("link.click.limit.default", "100");
+        this.stripedCounterMinLimit = positiveInt("link.click.counter.striped.min-limit", "100000");
+        this.stripedCounterExactThreshold = positiveInt("link.click.counter.exact-threshold", "1024");
+        this.linkDomain = string("link.domain", "clck.ru");
+        this.shortCodeLength = positiveInt("link.code.length", "6");
+        this.shortCodeStrategy = string("link.code.strategy", "hash");
+        this.shortCodeBlockSize = positiveInt("link.code.sequence.block", "1024");
+        this.shortCodeMaxAttempts = positiveInt("link.code.max-attempts", "10");
+
+        this.cleanupInterval = positiveLong("cleanup.interval", "3600000");
+        this.cleanupMode = string("cleanup.mode", "incremental");
+        this.cleanupBatchSize = positiveInt("cleanup.batch.size", "1000");
+        this.cleanupBatchBudget = positiveLong("cleanup.batch.budget", "5");
+        this.cleanupBatchPause = nonNegativeLong("cleanup.batch.pause", "10");
+
+        this.notificationsEnabled = bool("notifications.enabled", "true");
+        this.notificationQueueCapacity = positiveInt("notifications.queue.capacity", "8192");
+        this.notificationOverflowPolicy = string("notifications.queue.policy", "drop");
+        this.notificationBatchSize = positiveInt("notifications.batch.size", "256");
+        this.notificationSinks = string("notifications.sinks", "console");
+        this.notificationFileDirectory = string("notifications.file.dir", "data/notifications");
+        this.notificationFileMaxSize = positiveLong("notifications.file.max-size", "10485760");
+        this.notificationFileMaxFiles = positiveInt("notifications.file.max-files", "5");
+        this.notificationSocketPath = string("notifications.socket.path", "data/notifications.sock");
+
+        this.repositoryEngine = string("repository.engine", "memory");
+        this.walDirectory = string("repository.wal.dir", "data/wal");
+        this.walSegmentSize = positiveLong("repository.wal.segment.size", "67108864");
+        this.walMaxBatch = positiveInt("repository.wal.batch.max", "1024");
+        this.walClickFlushInterval = positiveLong("repository.wal.click.flush.interval", "1000");
+        this.snapshotInterval = nonNegativeLong("repository.snapshot.interval", "600000");
+        this.offHeapDirectory = string("repository.offheap.dir", "data/offheap");
+        this.offHeapCapacity = positiveInt("repository.offheap.capacity", "1048576");
+        this.repositoryCacheSize = nonNegativeInt("repository.cache.size", "65536");
+        this.bloomExpectedLinks = nonNegativeLong("repository.bloom.expected", "1000000");
+        this.bloomFalsePositiveRate = probability("repository.bloom.fpp", "0.01");
+
+        this.httpEnabled = bool("http.enabled", "false");
+        this.httpPort = positiveInt("http.port", "8080");
+        this.httpThreads = positiveInt("http.threads", "16");
+        this.httpBacklog = positiveInt("http.backlog", "1024");
+    }
+
+    public long getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public int getDefaultClickLimit() {
+        return defaultClickLimit;
+    }
+
+    public int getStripedCounterMinLimit() {
+        return stripedCounterMinLimit;
+    }
+
+    public int getStripedCounterExactThreshold() {
+        return stripedCounterExactThreshold;
+    }
+
+    public String getLinkDomain() {
+        return linkDomain;
+    }
+
+    public int getShortCodeLength() {
+        return shortCodeLength;
+    }
+
+    public String getShortCodeStrategy() {
+        return shortCodeStrategy;
+    }
+
+    public int getShortCodeBlockSize() {
+        return shortCodeBlockSize;
+    }
+
+    public int getShortCodeMaxAttempts() {
+        return shortCodeMaxAttempts;
+    }
+
+    public long getCleanupInterval() {
+        return cleanupInterval;
+    }
+
+    public String getCleanupMode() {
+        return cleanupMode;
+    }
+
+    public int getCleanupBatchSize() {
+        return cleanupBatchSize;
+    }
+
+    public long getCleanupBatchBudget() {
+        return cleanupBatchBudget;
+    }
+
+    public long getCleanupBatchPause() {
+        return cleanupBatchPause;
+    }
+
+    public boolean isNotificationsEnabled() {
+        return notificationsEnabled;
+    }
+
+    public int getNotificationQueueCapacity() {
+        return notificationQueueCapacity;
+    }
+
+    public String getNotificationOverflowPolicy() {
+        return notificationOverflowPolicy;
+    }
+
+    public int getNotificationBatchSize() {
+        return notificationBatchSize;
+    }
+
+    public String getNotificationSinks() {
+        return notificationSinks;
+    }
+
+    public String getNotificationFileDirectory() {
+        return notificationFileDirectory;
+    }
+
+    public long getNotificationFileMaxSize() {
+        return notificationFileMaxSize;
+    }
+
+    public int getNotificationFileMaxFiles() {
+        return notificationFileMaxFiles;
+    }
+
+    public String getNotificationSocketPath() {
+        return notificationSocketPath;
+    }
+
+    public String getRepositoryEngine() {
+        return repositoryEngine;
+    }
+
+    public String getWalDirectory() {
+        return walDirectory;
+    }
+
+    public long getWalSegmentSize() {
+        return walSegmentSize;
+    }
+
+    public int getWalMaxBatch() {
+        return walMaxBatch;
+    }
+
+    public long getWalClickFlushInterval() {
+        return walClickFlushInterval;
+    }
+
+    public long getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public String getOffHeapDirectory() {
+        return offHeapDirectory;
+    }
+
+    public int getOffHeapCapacity() {
+        return offHeapCapacity;
+    }
+
+    public int getRepositoryCacheSize() {
+        return repositoryCacheSize;
+    }
+
+    public long getBloomExpectedLinks() {
+        return bloomExpectedLinks;
+    }
+
+    public double getBloomFalsePositiveRate() {
+        return bloomFalsePositiveRate;
+    }
+
+    public boolean isHttpEnabled() {
+        return httpEnabled;
+    }
+
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    public int getHttpThreads() {
+        return httpThreads;
+    }
+
+    public int getHttpBacklog() {
+        return httpBacklog;
+    }
+
+    /**
+     * Raw value of any setting, including ones without a typed getter
+     */
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    private String string(String key, String defaultValue) {
+        String value = properties.getProperty(key, defaultValue).trim();
+        if (value.isEmpty()) {
+            throw invalid(key, value);
+        }
+        return value;
+    }
+
+    private boolean bool(String key, String defaultValue) {
+        String value = string(key, defaultValue);
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw invalid(key, value);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private long nonNegativeLong(String key, String defaultValue) {
+        String value = string(key, defaultValue);
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw invalid(key, value);
+    }
+
+    private long positiveLong(String key, String defaultValue) {
+        long value = nonNegativeLong(key, defaultValue);
+        if (value == 0) {
+            throw invalid(key, "0");
+        }
+        return value;
+    }
+
+    private int nonNegativeInt(String key, String defaultValue) {
+        long value = nonNegativeLong(key, defaultValue);
+        if (value > Integer.MAX_VALUE) {
+            throw invalid(key, String.valueOf(value));
+        }
+        return (int) value;
+    }
+
+    private int positiveInt(String key, String defaultValue) {
+        int value = nonNegativeInt(key, defaultValue);
+        if (value == 0) {
+            throw invalid(key, "0");
+        }
+        return value;
+    }
+
+    private double probability(String key, String defaultValue) {
+        String value = string(key, defaultValue);
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed > 0 && parsed < 1) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw invalid(key, value);
+    }
+
+    private static IllegalArgumentException invalid(String key, String value) {
+        return new IllegalArgumentException("Invalid value for " + key + ": '" + value + "'");
+    }
+}
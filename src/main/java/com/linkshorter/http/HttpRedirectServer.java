@@ -0,0 +1,228 @@
+package com.linkshorter.http;
+
+import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.model.Link;
+import com.linkshorter.model.User;
+import com.linkshorter.service.LinkService;
+import com.linkshorter.service.RedirectOutcome;
+import com.linkshorter.service.RedirectResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP front end for the link service
+ * GET /{shortCode} redirects to the original URL, POST /links creates a new link
+ */
+public class HttpRedirectServer {
+    static final String USER_HEADER = "X-User-Id";
+    private static final String LINKS_PATH = "/links";
+    private static final int MAX_BODY_SIZE = 16 * 1024;
+
+    private final LinkService linkService;
+    private final AppConfiguration config;
+    private final int port;
+    // One result holder per worker thread keeps redirects allocation-free
+    private final ThreadLocal<RedirectResult> redirectResults = ThreadLocal.withInitial(RedirectResult::new);
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public HttpRedirectServer(LinkService linkService, AppConfiguration config) {
+        this(linkService, config, config.getHttpPort());
+    }
+
+    public HttpRedirectServer(LinkService linkService, AppConfiguration config, int port) {
+        this.linkService = linkService;
+        this.config = config;
+        this.port = port;
+    }
+
+    /**
+     * Start accepting requests
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return; // Already started
+        }
+
+        int threads = config.getHttpThreads();
+        if (threads <= 0) {
+            throw new IllegalArgumentException("HTTP thread count must be positive");
+        }
+
+        executor = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+        server = HttpServer.create(new InetSocketAddress(port), config.getHttpBacklog());
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+
+        System.out.println("[HTTP] Сервер запущен на порту " + getPort() + " (потоков: " + threads + ")");
+    }
+
+    /**
+     * Stop the server, letting in-flight exchanges finish for up to a second
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        executor = null;
+        System.out.println("[HTTP] Сервер остановлен");
+    }
+
+    /**
+     * Actual listening port (useful when started on port 0)
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+
+            if (LINKS_PATH.equals(path)) {
+                if ("POST".equals(method)) {
+                    handleCreate(exchange);
+                } else {
+                    sendText(exchange, 405, "Method Not Allowed");
+                }
+            } else if ("GET".equals(method)) {
+                handleRedirect(exchange, path);
+            } else {
+                sendText(exchange, 405, "Method Not Allowed");
+            }
+        } catch (IllegalArgumentException e) {
+            sendText(exchange, 400, e.getMessage() != null ? e.getMessage() : "Bad Request");
+        } catch (Exception e) {
+            sendText(exchange, 500, "Internal Server Error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleRedirect(HttpExchange exchange, String path) throws IOException {
+        String shortCode = path.length() > 1 ? path.substring(1) : "";
+        if (shortCode.isEmpty() || shortCode.indexOf('/') >= 0) {
+            sendText(exchange, 404, "Not Found");
+            return;
+        }
+
+        RedirectResult result = linkService.redirect(shortCode, redirectResults.get());
+        if (result.getOutcome() == RedirectOutcome.NOT_FOUND) {
+            sendText(exchange, 404, "Not Found");
+            return;
+        }
+        if (!result.isRedirect()) {
+            // The link existed but expired, ran out of clicks or was deactivated
+            sendText(exchange, 410, "Gone");
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Location", result.getTargetUrl());
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    /**
+     * Body is either the bare URL or a form: url=...&limit=...
+     */
+    private void handleCreate(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange).trim();
+        String url = body;
+        // Absent means the configured default; a given limit is validated by the service
+        Integer clickLimit = null;
+
+        if (body.startsWith("url=")) {
+            url = null;
+            for (String pair : body.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq < 0) {
+                    continue;
+                }
+                String key = pair.substring(0, eq);
+                String value = URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                if ("url".equals(key)) {
+                    url = value;
+                } else if ("limit".equals(key)) {
+                    try {
+                        clickLimit = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid click limit: " + value);
+                    }
+                }
+            }
+        }
+
+        String userId = exchange.getRequestHeaders().getFirst(USER_HEADER);
+        User owner = userId != null ? User.fromId(userId) : User.createNew();
+
+        Link link = clickLimit != null
+                ? linkService.createLink(url, owner, clickLimit)
+                : linkService.createLink(url, owner);
+
+        String json = "{\"shortCode\":\"" + link.getShortCode() + "\"," +
+                "\"shortUrl\":\"" + config.getLinkDomain() + "/" + link.getShortCode() + "\"," +
+                "\"clickLimit\":" + link.getClickLimit() + "," +
+                "\"userId\":\"" + owner.getIdString() + "\"}";
+
+        exchange.getResponseHeaders().set(USER_HEADER, owner.getIdString());
+        exchange.getResponseHeaders().set("Location", "/" + link.getShortCode());
+        send(exchange, 201, "application/json", json);
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_SIZE + 1);
+            if (body.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("Request body too large");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        send(exchange, status, "text/plain; charset=utf-8", text);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "http-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.linkshorter.model;
+
+/**
+ * Counts clicks on a link against a fixed click limit
+ * Implementations must be thread-safe and never let the count exceed the limit
+ */
+public interface ClickCounter {
+
+    /**
+     * Atomically reserve one click.
+     * Exactly one caller observes LIMIT_REACHED for a given counter.
+     */
+    ClickResult acquire();
+
+    /**
+     * Current number of counted clicks
+     */
+    int get();
+
+    /**
+     * Click limit this counter enforces
+     */
+    int limit();
+}
@@ -0,0 +1,21 @@
+package com.linkshorter.model;
+
+/**
+ * Outcome of an attempt to register a click on a link
+ */
+public enum ClickResult {
+    /**
+     * Click counted, the link still has clicks left
+     */
+    ACCEPTED,
+
+    /**
+     * Click counted and it was the last one allowed by the click limit
+     */
+    LIMIT_REACHED,
+
+    /**
+     * Click not counted: the link is inactive or its limit is exhausted
+     */
+    REJECTED
+}
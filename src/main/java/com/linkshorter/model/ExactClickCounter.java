@@ -0,0 +1,54 @@
+package com.linkshorter.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Click counter backed by a single field updated with compare-and-set
+ */
+public final class ExactClickCounter implements ClickCounter {
+    private static final VarHandle COUNT;
+
+    static {
+        try {
+            COUNT = MethodHandles.lookup().findVarHandle(ExactClickCounter.class, "count", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int limit;
+    private volatile int count;
+
+    public ExactClickCounter(int limit) {
+        this(limit, 0);
+    }
+
+    public ExactClickCounter(int limit, int initialCount) {
+        this.limit = limit;
+        this.count = Math.min(initialCount, limit);
+    }
+
+    @Override
+    public ClickResult acquire() {
+        int current;
+        do {
+            current = count;
+            if (current >= limit) {
+                return ClickResult.REJECTED;
+            }
+        } while (!COUNT.compareAndSet(this, current, current + 1));
+
+        return current + 1 == limit ? ClickResult.LIMIT_REACHED : ClickResult.ACCEPTED;
+    }
+
+    @Override
+    public int get() {
+        return count;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+}
@@ -12,20 +12,26 @@ public class Link {
     private final String originalUrl;
     private final UUID ownerId;
     private final Instant createdAt;
-    private final Instant expiresAt;
+    private final long expiresAtMillis;
     private final int clickLimit;
-    private int clickCount;
-    private boolean active;
+    private final ClickCounter clickCounter;
+    private volatile boolean active;
 
     private Link(Builder builder) {
         this.shortCode = builder.shortCode;
         this.originalUrl = builder.originalUrl;
         this.ownerId = builder.ownerId;
         this.createdAt = builder.createdAt;
-        this.expiresAt = builder.expiresAt;
+        this.expiresAtMillis = builder.expiresAtMillis;
         this.clickLimit = builder.clickLimit;
-        this.clickCount = 0;
-        this.active = true;
+        if (builder.clickCounter != null) {
+            this.clickCounter = builder.clickCounter;
+        } else if (builder.exactThreshold >= 0) {
+            this.clickCounter = new StripedClickCounter(builder.clickLimit, builder.exactThreshold, builder.clickCount);
+        } else {
+            this.clickCounter = new ExactClickCounter(builder.clickLimit, builder.clickCount);
+        }
+        this.active = clickCounter.get() < clickLimit;
     }
 
     public String getShortCode() {
@@ -45,7 +51,11 @@ public class Link {
     }
 
     public Instant getExpiresAt() {
-        return expiresAt;
+        return Instant.ofEpochMilli(expiresAtMillis);
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
     }
 
     public int getClickLimit() {
@@ -53,7 +63,14 @@ public class Link {
     }
 
     public int getClickCount() {
-        return clickCount;
+        return clickCounter.get();
+    }
+
+    /**
+     * Exact threshold of the striped click counter, or -1 when clicks are counted exactly
+     */
+    public int getStripedCounterThreshold() {
+        return clickCounter instanceof StripedClickCounter striped ? striped.getExactThreshold() : -1;
     }
 
     public boolean isActive() {
@@ -65,19 +82,40 @@ public class Link {
     }
 
     public boolean isExpired() {
-        return Instant.now().isAfter(expiresAt);
+        return isExpiredAt(System.currentTimeMillis());
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return isExpiredAt(now.toEpochMilli());
+    }
+
+    public boolean isExpiredAt(long nowMillis) {
+        return nowMillis > expiresAtMillis;
     }
 
     public boolean hasReachedClickLimit() {
-        return clickCount >= clickLimit;
+        return clickCounter.get() >= clickLimit;
     }
 
-    public synchronized void incrementClickCount() {
-        if (active && !isExpired() && !hasReachedClickLimit()) {
-            this.clickCount++;
-            if (hasReachedClickLimit()) {
-                deactivate();
-            }
+    /**
+     * Atomically reserve one click against the click limit.
+     * Exactly one caller observes LIMIT_REACHED, the link is deactivated at that point.
+     */
+    public ClickResult registerClick() {
+        if (!active) {
+            return ClickResult.REJECTED;
+        }
+
+        ClickResult result = clickCounter.acquire();
+        if (result == ClickResult.LIMIT_REACHED) {
+            deactivate();
+        }
+        return result;
+    }
+
+    public void incrementClickCount() {
+        if (!isExpired()) {
+            registerClick();
         }
     }
 
@@ -86,7 +124,7 @@ public class Link {
     }
 
     public int getRemainingClicks() {
-        return Math.max(0, clickLimit - clickCount);
+        return Math.max(0, clickLimit - clickCounter.get());
     }
 
     @Override
@@ -108,10 +146,10 @@ public class Link {
                 "shortCode='" + shortCode + '\'' +
                 ", originalUrl='" + originalUrl + '\'' +
                 ", ownerId=" + ownerId +
-                ", clickCount=" + clickCount +
+                ", clickCount=" + clickCounter.get() +
                 ", clickLimit=" + clickLimit +
                 ", active=" + active +
-                ", expiresAt=" + expiresAt +
+                ", expiresAt=" + getExpiresAt() +
                 '}';
     }
 
@@ -120,8 +158,12 @@ public class Link {
         private String originalUrl;
         private UUID ownerId;
         private Instant createdAt;
-        private Instant expiresAt;
+        private long expiresAtMillis;
+        private boolean hasExpiry;
         private int clickLimit;
+        private int exactThreshold = -1;
+        private int clickCount;
+        private ClickCounter clickCounter;
 
         public Builder shortCode(String shortCode) {
             this.shortCode = shortCode;
@@ -144,7 +186,15 @@ public class Link {
         }
 
         public Builder expiresAt(Instant expiresAt) {
-            this.expiresAt = expiresAt;
+            if (expiresAt != null) {
+                expiresAtMillis(expiresAt.toEpochMilli());
+            }
+            return this;
+        }
+
+        public Builder expiresAtMillis(long expiresAtMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+            this.hasExpiry = true;
             return this;
         }
 
@@ -153,6 +203,34 @@ public class Link {
             return this;
         }
 
+        /**
+         * Initial click count, used when restoring a stored link
+         */
+        public Builder clickCount(int clickCount) {
+            this.clickCount = clickCount;
+            return this;
+        }
+
+        /**
+         * Use a striped click counter that falls back to exact counting
+         * once fewer than exactThreshold clicks remain
+         */
+        public Builder stripedCounter(int exactThreshold) {
+            if (exactThreshold < 0) {
+                throw new IllegalArgumentException("Exact threshold cannot be negative");
+            }
+            this.exactThreshold = exactThreshold;
+            return this;
+        }
+
+        /**
+         * Use an externally managed click counter, e.g. one backed by storage
+         */
+        public Builder clickCounter(ClickCounter clickCounter) {
+            this.clickCounter = clickCounter;
+            return this;
+        }
+
         public Link build() {
             validateFields();
             if (createdAt == null) {
@@ -171,12 +249,18 @@ public class Link {
             if (ownerId == null) {
                 throw new IllegalArgumentException("Owner ID cannot be null");
             }
-            if (expiresAt == null) {
+            if (!hasExpiry) {
                 throw new IllegalArgumentException("Expiration time cannot be null");
             }
             if (clickLimit <= 0) {
                 throw new IllegalArgumentException("Click limit must be positive");
             }
+            if (clickCount < 0) {
+                throw new IllegalArgumentException("Click count cannot be negative");
+            }
+            if (clickCounter != null && clickCounter.limit() != clickLimit) {
+                throw new IllegalArgumentException("Click counter limit does not match click limit");
+            }
         }
     }
 }
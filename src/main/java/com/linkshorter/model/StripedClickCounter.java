@@ -0,0 +1,238 @@
+package com.linkshorter.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Click counter for links with large click limits.
+ * <p>
+ * While far from the limit, clicks are taken from per-core stripes that are refilled in
+ * blocks from a shared grant counter, so concurrent redirects do not fight over one cache line.
+ * Once fewer than {@code exactThreshold} clicks remain ungranted, every click goes through
+ * the shared counter with compare-and-set, which keeps the limit exact at the boundary.
+ * Stripes are only allocated after the first contended update.
+ */
+public final class StripedClickCounter implements ClickCounter {
+    static final int BLOCK_SIZE = 64;
+    private static final int MAX_STRIPES = 64;
+
+    private static final VarHandle GRANTED;
+    private static final VarHandle LIMIT_REPORTED;
+    private static final VarHandle REFILLING;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            GRANTED = lookup.findVarHandle(StripedClickCounter.class, "granted", int.class);
+            LIMIT_REPORTED = lookup.findVarHandle(StripedClickCounter.class, "limitReported", boolean.class);
+            REFILLING = lookup.findVarHandle(StripedClickCounter.class, "refilling", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int limit;
+    private final int exactThreshold;
+
+    /**
+     * Clicks handed out from the limit, either directly or as blocks parked in stripes
+     */
+    private volatile int granted;
+    /**
+     * Refills that may have raised granted without adding their block to a stripe yet
+     */
+    private volatile int refilling;
+    private volatile boolean limitReported;
+    private volatile Stripe[] stripes;
+
+    public StripedClickCounter(int limit, int exactThreshold) {
+        this(limit, exactThreshold, 0);
+    }
+
+    public StripedClickCounter(int limit, int exactThreshold, int initialCount) {
+        if (exactThreshold < 0) {
+            throw new IllegalArgumentException("Exact threshold cannot be negative");
+        }
+        this.limit = limit;
+        this.exactThreshold = exactThreshold;
+        this.granted = Math.min(initialCount, limit);
+        this.limitReported = granted == limit;
+    }
+
+    public int getExactThreshold() {
+        return exactThreshold;
+    }
+
+    @Override
+    public ClickResult acquire() {
+        Stripe[] ss = stripes;
+        if (ss != null) {
+            Stripe stripe = ss[probe() & (ss.length - 1)];
+            while (true) {
+                if (stripe.tryTake()) {
+                    // The last clicks may be parked in stripes after the whole limit is granted
+                    return granted >= limit ? checkLimitReached() : ClickResult.ACCEPTED;
+                }
+                if (!refill(stripe)) {
+                    break; // Near the limit: switch to exact counting
+                }
+            }
+        }
+
+        // Exact path
+        while (true) {
+            int current = granted;
+            if (current >= limit) {
+                return takeLeftover();
+            }
+            if (GRANTED.compareAndSet(this, current, current + 1)) {
+                return current + 1 == limit ? checkLimitReached() : ClickResult.ACCEPTED;
+            }
+            if (stripes == null && limit - current > (long) exactThreshold + BLOCK_SIZE) {
+                inflate();
+                return acquire();
+            }
+        }
+    }
+
+    @Override
+    public int get() {
+        int available = 0;
+        Stripe[] ss = stripes;
+        if (ss != null) {
+            for (Stripe stripe : ss) {
+                available += stripe.available;
+            }
+        }
+        return Math.max(0, granted - available);
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Move one block from the shared counter into the stripe, if still far from the limit
+     */
+    private boolean refill(Stripe stripe) {
+        while (true) {
+            int current = granted;
+            if ((long) limit - current - BLOCK_SIZE < exactThreshold) {
+                return false;
+            }
+            REFILLING.getAndAdd(this, 1);
+            try {
+                if (GRANTED.compareAndSet(this, current, current + BLOCK_SIZE)) {
+                    stripe.add(BLOCK_SIZE);
+                    return true;
+                }
+            } finally {
+                REFILLING.getAndAdd(this, -1);
+            }
+        }
+    }
+
+    /**
+     * Once the whole limit is granted no refill can start, so this waits only for blocks that are
+     * granted but not yet visible in their stripe; otherwise they would be missed as leftovers
+     */
+    private void awaitRefills() {
+        while (refilling != 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Everything is granted: drain clicks still parked in stripes
+     */
+    private ClickResult takeLeftover() {
+        Stripe[] ss = stripes;
+        if (ss != null) {
+            awaitRefills();
+            for (Stripe stripe : ss) {
+                if (stripe.tryTake()) {
+                    return checkLimitReached();
+                }
+            }
+        }
+        return ClickResult.REJECTED;
+    }
+
+    /**
+     * Called after a successful take once the whole limit is granted.
+     * The click that leaves every stripe empty is reported as the last one, exactly once.
+     */
+    private ClickResult checkLimitReached() {
+        Stripe[] ss = stripes;
+        if (ss != null) {
+            awaitRefills();
+            for (Stripe stripe : ss) {
+                if (stripe.available > 0) {
+                    return ClickResult.ACCEPTED;
+                }
+            }
+        }
+        return LIMIT_REPORTED.compareAndSet(this, false, true) ? ClickResult.LIMIT_REACHED : ClickResult.ACCEPTED;
+    }
+
+    private synchronized void inflate() {
+        if (stripes == null) {
+            int count = Math.min(MAX_STRIPES, Integer.highestOneBit(
+                    Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+            Stripe[] ss = new Stripe[count];
+            for (int i = 0; i < count; i++) {
+                ss[i] = new Stripe();
+            }
+            stripes = ss;
+        }
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Padding keeps each stripe's counter on its own cache line
+     */
+    @SuppressWarnings("unused")
+    private static class StripePadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    private static class StripeValue extends StripePadding {
+        static final VarHandle AVAILABLE;
+
+        static {
+            try {
+                AVAILABLE = MethodHandles.lookup().findVarHandle(StripeValue.class, "available", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        volatile int available;
+
+        boolean tryTake() {
+            int current;
+            do {
+                current = available;
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!AVAILABLE.compareAndSet(this, current, current - 1));
+            return true;
+        }
+
+        void add(int amount) {
+            AVAILABLE.getAndAdd(this, amount);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Stripe extends StripeValue {
+        long p11, p12, p13, p14, p15, p16, p17;
+    }
+}
@@ -0,0 +1,99 @@
+package com.linkshorter.notification;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Prints notifications for the CLI user, one print per batch
+ */
+public class ConsoleNotificationSink implements NotificationSink {
+    private final PrintStream out;
+    private final StringBuilder text = new StringBuilder();
+
+    public ConsoleNotificationSink() {
+        this(System.out);
+    }
+
+    public ConsoleNotificationSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public String name() {
+        return NotificationSinkFactory.SINK_CONSOLE;
+    }
+
+    @Override
+    public void write(List<NotificationEvent> batch) {
+        text.setLength(0);
+        for (NotificationEvent event : batch) {
+            render(event, text);
+        }
+        out.print(text);
+        out.flush();
+    }
+
+    private static void render(NotificationEvent event, StringBuilder out) {
+        switch (event.type()) {
+            case LINK_EXPIRED -> {
+                out.append("\n╔══════════════════════════════════════════════════════════╗\n");
+                out.append("║                    УВЕДОМЛЕНИЕ                           ║\n");
+                out.append("╠══════════════════════════════════════════════════════════╣\n");
+                out.append("║  Ссылка истекла по времени жизни (TTL)                  ║\n");
+                out.append("║  Короткий код: ").append(String.format("%-39s", event.shortCode())).append("║\n");
+                out.append("║  Исходный URL: ").append(truncate(event.originalUrl(), 38)).append(" ║\n");
+                out.append("║                                                          ║\n");
+                out.append("║  Создайте новую ссылку, если хотите продолжить           ║\n");
+                out.append("║  использование данного URL.                              ║\n");
+                out.append("╚══════════════════════════════════════════════════════════╝\n\n");
+            }
+            case CLICK_LIMIT_REACHED -> {
+                out.append("\n╔══════════════════════════════════════════════════════════╗\n");
+                out.append("║                    УВЕДОМЛЕНИЕ                           ║\n");
+                out.append("╠══════════════════════════════════════════════════════════╣\n");
+                out.append("║  Достигнут лимит переходов по ссылке                     ║\n");
+                out.append("║  Короткий код: ").append(String.format("%-39s", event.shortCode())).append("║\n");
+                out.append("║  Исходный URL: ").append(truncate(event.originalUrl(), 38)).append(" ║\n");
+                out.append("║  Количество переходов: ")
+                        .append(String.format("%-33s", event.clickCount() + "/" + event.clickLimit())).append("║\n");
+                out.append("║                                                          ║\n");
+                out.append("║  Создайте новую ссылку, если хотите продолжить           ║\n");
+                out.append("║  использование данного URL.                              ║\n");
+                out.append("╚══════════════════════════════════════════════════════════╝\n\n");
+            }
+            case LINK_CREATED -> {
+                out.append("\n✓ Короткая ссылка успешно создана!\n");
+                out.append("  Короткий код: ").append(event.shortCode()).append('\n');
+                out.append("  Полная короткая ссылка: ").append(event.detail()).append('\n');
+                out.append("  Лимит переходов: ").append(event.clickLimit()).append('\n');
+                out.append("  Время жизни: ").append(event.ttlHours()).append(" часов\n");
+            }
+            case LINKS_IMPORTED -> {
+                out.append("\n✓ Импорт ссылок завершён!\n");
+                out.append("  Создано ссылок: ").append(event.created()).append('\n');
+                out.append("  Отклонено URL: ").append(event.rejected()).append('\n');
+                out.append("  Лимит переходов: ").append(event.clickLimit()).append('\n');
+                out.append("  Время жизни: ").append(event.ttlHours()).append(" часов\n");
+            }
+            case LINK_NOT_FOUND ->
+                    out.append("\n✗ Ошибка: Ссылка с кодом '").append(event.shortCode()).append("' не найдена.\n");
+            case LINK_INACTIVE -> {
+                out.append("\n✗ Ссылка недоступна: ").append(event.detail()).append('\n');
+                out.append("  Короткий код: ").append(event.shortCode()).append('\n');
+                out.append("  Создайте новую ссылку для продолжения работы.\n");
+            }
+            case ACCESS_DENIED -> {
+                out.append("\n✗ Доступ запрещён: Вы не являетесь владельцем ссылки '")
+                        .append(event.shortCode()).append("'\n");
+                out.append("  Только владелец может редактировать или удалять свои ссылки.\n");
+            }
+        }
+    }
+
+    private static String truncate(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return String.format("%-" + maxLength + "s", text);
+        }
+        return text.substring(0, maxLength - 3) + "...";
+    }
+}
@@ -0,0 +1,205 @@
+package com.linkshorter.notification;
+
+import com.linkshorter.util.MpscRingBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds one sink from its own bounded ring buffer on a dedicated thread
+ * <p>
+ * Publishers never touch the sink: they offer the event and return. The worker drains up to a
+ * batch of events, hands them to the sink in one call and parks when the buffer is empty, so a
+ * slow sink only fills its own buffer. When the buffer is full, the drop policy discards the
+ * event and counts it, the block policy waits for free space.
+ */
+public class NotificationDispatcher implements AutoCloseable {
+    public static final String POLICY_DROP = "drop";
+    public static final String POLICY_BLOCK = "block";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final NotificationSink sink;
+    private final boolean blockWhenFull;
+    private final int batchSize;
+    private final MpscRingBuffer<NotificationEvent> queue;
+    private final Thread worker;
+    private final long startedAt = System.nanoTime();
+    private volatile boolean running = true;
+    private volatile boolean idle;
+    private volatile boolean failing;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    // Written by the worker thread only
+    private volatile long delivered;
+    private volatile long failed;
+    private volatile long batches;
+
+    /**
+     * @param queueCapacity  number of events buffered for the sink
+     * @param overflowPolicy drop or block when the buffer is full
+     * @param batchSize      maximum number of events handed to the sink at once
+     */
+    public NotificationDispatcher(NotificationSink sink, int queueCapacity, String overflowPolicy, int batchSize) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        if (!POLICY_DROP.equals(overflowPolicy) && !POLICY_BLOCK.equals(overflowPolicy)) {
+            throw new IllegalArgumentException("Unknown notification overflow policy: " + overflowPolicy);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.sink = sink;
+        this.blockWhenFull = POLICY_BLOCK.equals(overflowPolicy);
+        this.batchSize = batchSize;
+        this.queue = new MpscRingBuffer<>(queueCapacity);
+
+        this.worker = new Thread(this::run, "NotificationDispatcher-" + sink.name());
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * @return false if the event was dropped
+     */
+    public boolean publish(NotificationEvent event) {
+        while (!queue.offer(event)) {
+            if (!blockWhenFull || !running) {
+                dropped.increment();
+                return false;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        accepted.incrementAndGet();
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    /**
+     * Wait until every event accepted so far has been handed to the sink
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (delivered + failed < target) {
+            if (!worker.isAlive() || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Stop the worker after handing the queued events to the sink, then close the sink
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            System.out.println("[Notifications] Ошибка закрытия приёмника " + sink.name() + ": " + e.getMessage());
+        }
+    }
+
+    public String getSinkName() {
+        return sink.name();
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    /**
+     * Events discarded because the buffer was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Events in batches the sink failed to write
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Events delivered per second since the dispatcher started
+     */
+    public double getThroughput() {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        return seconds > 0 ? delivered / seconds : 0.0;
+    }
+
+    private void run() {
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+            queue.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                // Publish the idle flag before the final check, so a publisher either sees it or its event is seen here
+                idle = true;
+                if (queue.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+
+            try {
+                sink.write(batch);
+                delivered += batch.size();
+                failing = false;
+            } catch (IOException | RuntimeException e) {
+                failed += batch.size();
+                if (!failing) {
+                    // Report once per run of failures, not for every batch
+                    failing = true;
+                    System.out.println("[Notifications] Ошибка приёмника " + sink.name() + ": " + e.getMessage());
+                }
+            }
+            batches++;
+            batch.clear();
+        }
+    }
+}
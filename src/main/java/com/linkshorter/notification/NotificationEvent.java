@@ -0,0 +1,105 @@
+package com.linkshorter.notification;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.util.Json;
+
+import java.util.UUID;
+
+/**
+ * Notification captured on the calling thread and rendered later by the sinks
+ * Only the values are copied; no text is formatted when the event is published
+ *
+ * @param detail   full short URL for LINK_CREATED, reason for LINK_INACTIVE, otherwise null
+ * @param created  links created by a bulk import (LINKS_IMPORTED)
+ * @param rejected URLs a bulk import skipped (LINKS_IMPORTED)
+ */
+public record NotificationEvent(Type type,
+                                long timestamp,
+                                String shortCode,
+                                String originalUrl,
+                                UUID userId,
+                                int clickCount,
+                                int clickLimit,
+                                long ttlHours,
+                                String detail,
+                                int created,
+                                int rejected) {
+
+    public enum Type {
+        LINK_CREATED,
+        LINKS_IMPORTED,
+        LINK_EXPIRED,
+        CLICK_LIMIT_REACHED,
+        LINK_NOT_FOUND,
+        LINK_INACTIVE,
+        ACCESS_DENIED
+    }
+
+    public static NotificationEvent linkCreated(String shortCode, String fullShortUrl, int clickLimit, long ttlHours) {
+        return new NotificationEvent(Type.LINK_CREATED, System.currentTimeMillis(), shortCode, null, null,
+                0, clickLimit, ttlHours, fullShortUrl, 0, 0);
+    }
+
+    public static NotificationEvent linksImported(UUID userId, int created, int rejected, int clickLimit, long ttlHours) {
+        return new NotificationEvent(Type.LINKS_IMPORTED, System.currentTimeMillis(), null, null, userId,
+                0, clickLimit, ttlHours, null, created, rejected);
+    }
+
+    public static NotificationEvent linkExpired(Link link) {
+        return of(Type.LINK_EXPIRED, link, null);
+    }
+
+    public static NotificationEvent clickLimitReached(Link link) {
+        return of(Type.CLICK_LIMIT_REACHED, link, null);
+    }
+
+    public static NotificationEvent linkNotFound(String shortCode) {
+        return new NotificationEvent(Type.LINK_NOT_FOUND, System.currentTimeMillis(), shortCode, null, null,
+                0, 0, 0, null, 0, 0);
+    }
+
+    public static NotificationEvent linkInactive(Link link, String reason) {
+        return of(Type.LINK_INACTIVE, link, reason);
+    }
+
+    public static NotificationEvent accessDenied(String shortCode, UUID userId) {
+        return new NotificationEvent(Type.ACCESS_DENIED, System.currentTimeMillis(), shortCode, null, userId,
+                0, 0, 0, null, 0, 0);
+    }
+
+    /**
+     * Append the event as a single-line JSON object
+     */
+    public StringBuilder appendJson(StringBuilder out) {
+        out.append("{\"type\":\"").append(type).append("\",\"timestamp\":").append(timestamp);
+        appendString(out, "shortCode", shortCode);
+        appendString(out, "originalUrl", originalUrl);
+        if (userId != null) {
+            appendString(out, "userId", userId.toString());
+        }
+        if (clickLimit > 0) {
+            out.append(",\"clickCount\":").append(clickCount).append(",\"clickLimit\":").append(clickLimit);
+        }
+        if (ttlHours > 0) {
+            out.append(",\"ttlHours\":").append(ttlHours);
+        }
+        appendString(out, "detail", detail);
+        if (type == Type.LINKS_IMPORTED) {
+            out.append(",\"created\":").append(created).append(",\"rejected\":").append(rejected);
+        }
+        return out.append('}');
+    }
+
+    private static void appendString(StringBuilder out, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        out.append(",\"").append(name).append("\":");
+        Json.appendString(out, value);
+    }
+
+    private static NotificationEvent of(Type type, Link link, String detail) {
+        return new NotificationEvent(type, System.currentTimeMillis(), link.getShortCode(), link.getOriginalUrl(),
+                link.getOwnerId(), link.getClickCount(), link.getClickLimit(), 0, detail, 0, 0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.linkshorter.notification;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for notifications
+ * <p>
+ * Each sink is driven by its own {@link NotificationDispatcher} thread and always receives
+ * events in batches, so an implementation should write a batch with as few I/O calls as it can.
+ * A sink does not have to be thread-safe.
+ */
+public interface NotificationSink extends AutoCloseable {
+
+    /**
+     * Short name used in metrics and error messages
+     */
+    String name();
+
+    /**
+     * Write a batch of events in publication order
+     *
+     * @throws IOException if the batch could not be written; the dispatcher counts it as failed
+     */
+    void write(List<NotificationEvent> batch) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
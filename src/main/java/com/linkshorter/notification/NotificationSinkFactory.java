@@ -0,0 +1,58 @@
+package com.linkshorter.notification;
+
+import com.linkshorter.config.AppConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the notification sinks listed in the notifications.sinks setting
+ */
+public final class NotificationSinkFactory {
+    public static final String SINK_CONSOLE = "console";
+    public static final String SINK_FILE = "file";
+    public static final String SINK_SOCKET = "socket";
+
+    private NotificationSinkFactory() {
+    }
+
+    /**
+     * Create every configured sink
+     */
+    public static List<NotificationSink> create(AppConfiguration config) {
+        List<NotificationSink> sinks = new ArrayList<>();
+        for (String name : config.getNotificationSinks().split(",")) {
+            if (!name.isBlank()) {
+                sinks.add(create(name, config));
+            }
+        }
+        return sinks;
+    }
+
+    /**
+     * Create a sink by name, taking its settings from the configuration
+     */
+    public static NotificationSink create(String name, AppConfiguration config) {
+        if (name == null) {
+            throw new IllegalArgumentException("Notification sink cannot be null");
+        }
+
+        return switch (name.trim().toLowerCase()) {
+            case SINK_CONSOLE -> new ConsoleNotificationSink();
+            case SINK_FILE -> createFile(config);
+            case SINK_SOCKET -> new UnixSocketNotificationSink(Path.of(config.getNotificationSocketPath()));
+            default -> throw new IllegalArgumentException("Unknown notification sink: " + name);
+        };
+    }
+
+    private static RollingFileNotificationSink createFile(AppConfiguration config) {
+        try {
+            return new RollingFileNotificationSink(Path.of(config.getNotificationFileDirectory()),
+                    config.getNotificationFileMaxSize(), config.getNotificationFileMaxFiles());
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening notification log", e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.linkshorter.notification;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends notifications as JSON lines to a log file that rolls over by size
+ * <p>
+ * A batch is encoded into one reused buffer and written with a single channel write. When the
+ * current file would exceed the size limit it is renamed to notifications.1.log, older files
+ * move up by one, and the oldest beyond the file limit is deleted.
+ */
+public class RollingFileNotificationSink implements NotificationSink {
+    static final String FILE_NAME = "notifications.log";
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final StringBuilder text = new StringBuilder();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private FileChannel channel;
+    private long fileSize;
+
+    /**
+     * @param maxFileSize size in bytes after which the file is rolled over
+     * @param maxFiles    number of files kept, including the current one
+     */
+    public RollingFileNotificationSink(Path directory, long maxFileSize, int maxFiles) throws IOException {
+        if (maxFileSize <= 0) {
+            throw new IllegalArgumentException("Maximum file size must be positive");
+        }
+        if (maxFiles <= 0) {
+            throw new IllegalArgumentException("Maximum number of files must be positive");
+        }
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(directory);
+        open();
+    }
+
+    @Override
+    public String name() {
+        return NotificationSinkFactory.SINK_FILE;
+    }
+
+    @Override
+    public void write(List<NotificationEvent> batch) throws IOException {
+        text.setLength(0);
+        for (NotificationEvent event : batch) {
+            event.appendJson(text).append('\n');
+        }
+        ByteBuffer bytes = encode(text);
+
+        if (fileSize > 0 && fileSize + bytes.remaining() > maxFileSize) {
+            roll();
+        }
+        fileSize += bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    Path currentFile() {
+        return directory.resolve(FILE_NAME);
+    }
+
+    Path rolledFile(int index) {
+        return directory.resolve("notifications." + index + ".log");
+    }
+
+    private ByteBuffer encode(CharSequence chars) throws IOException {
+        CharBuffer input = CharBuffer.wrap(chars);
+        encoder.reset();
+        buffer.clear();
+        CoderResult result;
+        while ((result = encoder.encode(input, buffer, true)).isOverflow()) {
+            grow();
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            grow();
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void grow() {
+        ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        if (maxFiles == 1) {
+            Files.delete(currentFile());
+        } else {
+            Files.deleteIfExists(rolledFile(maxFiles - 1));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                Path file = rolledFile(i);
+                if (Files.exists(file)) {
+                    Files.move(file, rolledFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(currentFile(), rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(currentFile(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+}
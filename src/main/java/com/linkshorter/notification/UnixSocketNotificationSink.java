@@ -0,0 +1,60 @@
+package com.linkshorter.notification;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streams notifications as JSON lines to a local listener over a Unix domain socket
+ * Stand-in for a webhook: the connection is opened on the first batch and reopened after a failure
+ */
+public class UnixSocketNotificationSink implements NotificationSink {
+    private final UnixDomainSocketAddress address;
+    private final StringBuilder text = new StringBuilder();
+    private SocketChannel channel;
+
+    public UnixSocketNotificationSink(Path socketPath) {
+        this.address = UnixDomainSocketAddress.of(socketPath);
+    }
+
+    @Override
+    public String name() {
+        return NotificationSinkFactory.SINK_SOCKET;
+    }
+
+    @Override
+    public void write(List<NotificationEvent> batch) throws IOException {
+        text.setLength(0);
+        for (NotificationEvent event : batch) {
+            event.appendJson(text).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+
+        try {
+            if (channel == null) {
+                channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+                channel.connect(address);
+            }
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            SocketChannel closing = channel;
+            channel = null;
+            closing.close();
+        }
+    }
+}
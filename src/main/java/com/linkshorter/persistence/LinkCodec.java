@@ -0,0 +1,101 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Binary encoding of links and strings shared by the write-ahead log and snapshots
+ */
+public final class LinkCodec {
+
+    private LinkCodec() {
+    }
+
+    /**
+     * Upper bound of the encoded size of a link
+     */
+    public static int encodedSize(Link link) {
+        return stringSize(link.getShortCode()) + stringSize(link.getOriginalUrl()) + 8 * 4 + 4 * 3;
+    }
+
+    public static void writeLink(ByteBuffer buffer, Link link) {
+        writeString(buffer, link.getShortCode());
+        writeString(buffer, link.getOriginalUrl());
+        UUID ownerId = link.getOwnerId();
+        buffer.putLong(ownerId.getMostSignificantBits());
+        buffer.putLong(ownerId.getLeastSignificantBits());
+        buffer.putLong(link.getCreatedAt().toEpochMilli());
+        buffer.putLong(link.getExpiresAtMillis());
+        buffer.putInt(link.getClickLimit());
+        buffer.putInt(link.getClickCount());
+        buffer.putInt(link.getStripedCounterThreshold());
+    }
+
+    public static Link readLink(ByteBuffer buffer) {
+        String shortCode = readString(buffer);
+        String originalUrl = readString(buffer);
+        UUID ownerId = new UUID(buffer.getLong(), buffer.getLong());
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+        long expiresAt = buffer.getLong();
+        int clickLimit = buffer.getInt();
+        int clickCount = buffer.getInt();
+        int stripedThreshold = buffer.getInt();
+
+        Link.Builder builder = new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl(originalUrl)
+                .ownerId(ownerId)
+                .createdAt(createdAt)
+                .expiresAtMillis(expiresAt)
+                .clickLimit(clickLimit)
+                .clickCount(clickCount);
+        if (stripedThreshold >= 0) {
+            builder.stripedCounter(stripedThreshold);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Copy of a link with a different click count
+     */
+    public static Link withClickCount(Link link, int clickCount) {
+        Link.Builder builder = new Link.Builder()
+                .shortCode(link.getShortCode())
+                .originalUrl(link.getOriginalUrl())
+                .ownerId(link.getOwnerId())
+                .createdAt(link.getCreatedAt())
+                .expiresAtMillis(link.getExpiresAtMillis())
+                .clickLimit(link.getClickLimit())
+                .clickCount(Math.min(clickCount, link.getClickLimit()));
+        if (link.getStripedCounterThreshold() >= 0) {
+            builder.stripedCounter(link.getStripedCounterThreshold());
+        }
+        return builder.build();
+    }
+
+    public static int stringSize(String value) {
+        // Worst case of 3 bytes per UTF-16 char
+        return 4 + value.length() * 3;
+    }
+
+    public static void writeString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    public static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams links into a CSV or NDJSON file
+ * <p>
+ * Lines are collected in a reused buffer and written to the channel whenever it fills up, so
+ * memory use does not depend on the number of links. The file is written under a temporary
+ * name; {@link #commit()} renames it into place, an export that fails leaves no partial file.
+ */
+public class LinkExportWriter implements AutoCloseable {
+    private static final int CHUNK_CHARS = 64 * 1024;
+
+    private final Path target;
+    private final Path temp;
+    private final String format;
+    private final FileChannel channel;
+    private final StringBuilder text = new StringBuilder(CHUNK_CHARS + 1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_CHARS * 2);
+    private long count;
+    private boolean committed;
+
+    /**
+     * @param format {@link LinkTextCodec#FORMAT_CSV} or {@link LinkTextCodec#FORMAT_NDJSON}
+     */
+    public LinkExportWriter(Path target, String format) throws IOException {
+        LinkTextCodec.checkFormat(format);
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.format = format;
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (LinkTextCodec.FORMAT_CSV.equals(format)) {
+            text.append(LinkTextCodec.CSV_HEADER).append('\n');
+        }
+    }
+
+    public void append(Link link) {
+        LinkTextCodec.appendLine(text, link, format);
+        count++;
+        if (text.length() >= CHUNK_CHARS) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing export", e);
+            }
+        }
+    }
+
+    /**
+     * Write the remaining lines, fsync and move the file into place
+     */
+    public Path commit() throws IOException {
+        flush();
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        committed = true;
+        return target;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void flush() throws IOException {
+        ByteBuffer bytes = encode(text);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        text.setLength(0);
+    }
+
+    private ByteBuffer encode(CharSequence chars) throws IOException {
+        CharBuffer input = CharBuffer.wrap(chars);
+        encoder.reset();
+        buffer.clear();
+        CoderResult result;
+        while ((result = encoder.encode(input, buffer, true)).isOverflow()) {
+            grow();
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            grow();
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void grow() {
+        ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+}
@@ -0,0 +1,170 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads links back from a CSV or NDJSON file one at a time
+ * <p>
+ * The file is decoded through fixed-size buffers and only the current line is kept, so memory
+ * use does not depend on the file size. Lines that cannot be parsed are counted and skipped;
+ * the first few error messages are kept for reporting.
+ */
+public class LinkImportReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_CHARS = 1024 * 1024;
+    private static final int MAX_ERRORS_KEPT = 5;
+
+    private final String format;
+    private final boolean csv;
+    private final FileChannel channel;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder();
+    private final List<String> errors = new ArrayList<>();
+    private boolean inQuotes;
+    private boolean endOfInput;
+    private boolean finished;
+    private long lineNumber;
+    private long rejected;
+
+    /**
+     * @param format {@link LinkTextCodec#FORMAT_CSV} or {@link LinkTextCodec#FORMAT_NDJSON}
+     */
+    public LinkImportReader(Path file, String format) throws IOException {
+        LinkTextCodec.checkFormat(format);
+        this.format = format;
+        this.csv = LinkTextCodec.FORMAT_CSV.equals(format);
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        bytes.flip();
+        chars.flip();
+    }
+
+    /**
+     * Next valid link, or null at the end of the file
+     *
+     * @throws IOException if the file cannot be read, is not UTF-8 or has an overlong line
+     */
+    public Link next() throws IOException {
+        while (true) {
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (c == '\n' && !inQuotes) {
+                    Link link = completeLine();
+                    if (link != null) {
+                        return link;
+                    }
+                    continue;
+                }
+                if (csv && c == '"') {
+                    // A doubled quote inside a quoted field toggles twice
+                    inQuotes = !inQuotes;
+                }
+                if (line.length() >= MAX_LINE_CHARS) {
+                    throw new IOException("Line " + (lineNumber + 1) + " is longer than " + MAX_LINE_CHARS + " characters");
+                }
+                line.append(c);
+            }
+            if (!fill()) {
+                if (line.length() > 0) {
+                    Link link = completeLine();
+                    if (link != null) {
+                        return link;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Number of lines skipped because they could not be parsed
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * First few parse errors as "line N: message"
+     */
+    public List<String> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Link completeLine() {
+        lineNumber++;
+        inQuotes = false;
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(--length);
+        }
+        if (lineNumber == 1 && length > 0 && line.charAt(0) == '\uFEFF') {
+            line.deleteCharAt(0);
+        }
+        String text = line.toString();
+        line.setLength(0);
+        if (text.isBlank() || (csv && lineNumber == 1 && text.equals(LinkTextCodec.CSV_HEADER))) {
+            return null;
+        }
+        try {
+            return LinkTextCodec.parseLine(text, format);
+        } catch (IllegalArgumentException e) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS_KEPT) {
+                errors.add("line " + lineNumber + ": " + e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Decode the next chunk of the file into the char buffer
+     *
+     * @return false at the end of the file
+     */
+    private boolean fill() throws IOException {
+        if (finished) {
+            return false;
+        }
+        chars.clear();
+        while (true) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+                finished = true;
+                break;
+            }
+            if (chars.position() > 0) {
+                break;
+            }
+            bytes.compact();
+            int read = channel.read(bytes);
+            bytes.flip();
+            if (read < 0) {
+                endOfInput = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,330 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.util.Json;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Text encoding of links for export and import, one link per line
+ * <p>
+ * Both formats carry the same fields as {@link LinkCodec}: short code, URL, owner, creation and
+ * expiry time in epoch milliseconds, click limit, click count and the striped counter threshold
+ * (-1 for exact counting). CSV starts with a header line and quotes the text fields; NDJSON
+ * writes one flat JSON object per line.
+ */
+public final class LinkTextCodec {
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    static final String CSV_HEADER =
+            "shortCode,originalUrl,ownerId,createdAt,expiresAt,clickLimit,clickCount,stripedThreshold";
+    private static final int FIELDS = 8;
+
+    private LinkTextCodec() {
+    }
+
+    /**
+     * Format implied by the file extension: .csv, or .ndjson / .jsonl
+     *
+     * @throws IllegalArgumentException for any other extension
+     */
+    public static String formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return FORMAT_CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return FORMAT_NDJSON;
+        }
+        throw new IllegalArgumentException("Unknown link file format: " + file.getFileName() + " (expected .csv or .ndjson)");
+    }
+
+    static void checkFormat(String format) {
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unknown link file format: " + format);
+        }
+    }
+
+    /**
+     * Append the link as a line of the given format, including the line break
+     */
+    public static StringBuilder appendLine(StringBuilder out, Link link, String format) {
+        return FORMAT_CSV.equals(format) ? appendCsv(out, link) : appendJson(out, link);
+    }
+
+    /**
+     * Parse one line of the given format
+     *
+     * @throws IllegalArgumentException if the line is malformed or describes an invalid link
+     */
+    public static Link parseLine(CharSequence line, String format) {
+        return FORMAT_CSV.equals(format) ? parseCsv(line) : parseJson(line);
+    }
+
+    static StringBuilder appendCsv(StringBuilder out, Link link) {
+        appendQuoted(out, link.getShortCode()).append(',');
+        appendQuoted(out, link.getOriginalUrl()).append(',');
+        out.append(link.getOwnerId()).append(',')
+                .append(link.getCreatedAt().toEpochMilli()).append(',')
+                .append(link.getExpiresAtMillis()).append(',')
+                .append(link.getClickLimit()).append(',')
+                .append(link.getClickCount()).append(',')
+                .append(link.getStripedCounterThreshold());
+        return out.append('\n');
+    }
+
+    static StringBuilder appendJson(StringBuilder out, Link link) {
+        out.append("{\"shortCode\":");
+        Json.appendString(out, link.getShortCode());
+        out.append(",\"originalUrl\":");
+        Json.appendString(out, link.getOriginalUrl());
+        out.append(",\"ownerId\":\"").append(link.getOwnerId())
+                .append("\",\"createdAt\":").append(link.getCreatedAt().toEpochMilli())
+                .append(",\"expiresAt\":").append(link.getExpiresAtMillis())
+                .append(",\"clickLimit\":").append(link.getClickLimit())
+                .append(",\"clickCount\":").append(link.getClickCount())
+                .append(",\"stripedThreshold\":").append(link.getStripedCounterThreshold());
+        return out.append("}\n");
+    }
+
+    static Link parseCsv(CharSequence line) {
+        List<String> fields = new ArrayList<>(FIELDS);
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field");
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    field.append(line.charAt(i++));
+                }
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) {
+                break;
+            }
+            i++;
+        }
+        if (fields.size() != FIELDS) {
+            throw new IllegalArgumentException("Expected " + FIELDS + " fields, found " + fields.size());
+        }
+        return build(fields.get(0), fields.get(1), fields.get(2), fields.get(3),
+                fields.get(4), fields.get(5), fields.get(6), fields.get(7));
+    }
+
+    static Link parseJson(CharSequence line) {
+        JsonObjectParser parser = new JsonObjectParser(line);
+        String[] values = new String[FIELDS];
+        parser.expect('{');
+        if (!parser.tryConsume('}')) {
+            do {
+                String name = parser.readString();
+                parser.expect(':');
+                String value = parser.readValue();
+                int index = switch (name) {
+                    case "shortCode" -> 0;
+                    case "originalUrl" -> 1;
+                    case "ownerId" -> 2;
+                    case "createdAt" -> 3;
+                    case "expiresAt" -> 4;
+                    case "clickLimit" -> 5;
+                    case "clickCount" -> 6;
+                    case "stripedThreshold" -> 7;
+                    default -> -1;
+                };
+                if (index >= 0) {
+                    values[index] = value;
+                }
+            } while (parser.tryConsume(','));
+            parser.expect('}');
+        }
+        parser.expectEnd();
+        if (values[7] == null) {
+            values[7] = "-1";
+        }
+        return build(values[0], values[1], values[2], values[3], values[4], values[5], values[6], values[7]);
+    }
+
+    private static Link build(String shortCode, String originalUrl, String ownerId, String createdAt,
+                              String expiresAt, String clickLimit, String clickCount, String stripedThreshold) {
+        int limit = parseInt("clickLimit", clickLimit);
+        Link.Builder builder = new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl(originalUrl)
+                .ownerId(parseUuid(ownerId))
+                .createdAt(Instant.ofEpochMilli(parseLong("createdAt", createdAt)))
+                .expiresAtMillis(parseLong("expiresAt", expiresAt))
+                .clickLimit(limit)
+                .clickCount(Math.min(parseInt("clickCount", clickCount), limit));
+        int threshold = parseInt("stripedThreshold", stripedThreshold);
+        if (threshold >= 0) {
+            builder.stripedCounter(threshold);
+        }
+        return builder.build();
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field: ownerId");
+        }
+        return UUID.fromString(value.trim());
+    }
+
+    private static long parseLong(String name, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": '" + value + "'");
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        long parsed = parseLong(name, value);
+        if (parsed < Integer.MIN_VALUE || parsed > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid " + name + ": '" + value + "'");
+        }
+        return (int) parsed;
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Reads a single flat JSON object; nested values are not part of the format
+     */
+    private static final class JsonObjectParser {
+        private final CharSequence text;
+        private int position;
+
+        JsonObjectParser(CharSequence text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (!tryConsume(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + position);
+            }
+        }
+
+        boolean tryConsume(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position < text.length()) {
+                throw new IllegalArgumentException("Unexpected content at position " + position);
+            }
+        }
+
+        /**
+         * String or number as text, null for a JSON null
+         */
+        String readValue() {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < text.length() && "-+.eE0123456789nul".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            String value = text.subSequence(start, position).toString();
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Unsupported value at position " + start);
+            }
+            return value.equals("null") ? null : value;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (position >= text.length()) {
+                    throw new IllegalArgumentException("Unterminated string");
+                }
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    throw new IllegalArgumentException("Unterminated string");
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.subSequence(position, position + 4).toString(), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape at position " + position);
+                        }
+                        position += 4;
+                    }
+                    default -> throw new IllegalArgumentException("Invalid escape '\\" + escaped + "'");
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Binary snapshots of the link store.
+ * <p>
+ * A snapshot named after write-ahead log segment N contains every change logged in segments
+ * before N, so recovery loads the snapshot and replays segments from N onwards. Layout:
+ * [int magic][int version][long segment] then [int length][link] records, terminated by
+ * [int -1][long count]. Snapshots are written to a temporary file and atomically renamed.
+ */
+public class SnapshotStore {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int MAGIC = 0x4C534E50; // "LSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int END_MARKER = -1;
+    private static final long MAX_MAPPING = 1L << 30;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Most recent complete snapshot, if any
+     */
+    public Optional<Path> latest() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * Read a snapshot through a memory mapping
+     *
+     * @return write-ahead log segment to replay from
+     */
+    public long load(Path snapshot, Consumer<Link> consumer) throws IOException {
+        try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = in.size();
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAX_MAPPING));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a snapshot file: " + snapshot);
+            }
+            long segmentId = buffer.getLong();
+            long base = 0;
+            long count = 0;
+
+            while (true) {
+                long offset = base + buffer.position();
+                if (buffer.remaining() < 12 && offset + buffer.remaining() < size) {
+                    // End of the mapped window, not of the file: remap from the current record
+                    base = offset;
+                    buffer = in.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, MAX_MAPPING));
+                    continue;
+                }
+                if (buffer.remaining() < 4) {
+                    throw new IOException("Truncated snapshot: " + snapshot);
+                }
+
+                int length = buffer.getInt();
+                if (length == END_MARKER) {
+                    if (buffer.remaining() < 8 || buffer.getLong() != count) {
+                        throw new IOException("Corrupt snapshot trailer: " + snapshot);
+                    }
+                    return segmentId;
+                }
+                if (length <= 0) {
+                    throw new IOException("Corrupt snapshot record: " + snapshot);
+                }
+                if (buffer.remaining() < length) {
+                    if (size - offset - 4 < length) {
+                        throw new IOException("Truncated snapshot: " + snapshot);
+                    }
+                    base = offset;
+                    buffer = in.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, MAX_MAPPING));
+                    continue;
+                }
+
+                consumer.accept(LinkCodec.readLink(buffer.slice(buffer.position(), length)));
+                buffer.position(buffer.position() + length);
+                count++;
+            }
+        }
+    }
+
+    /**
+     * Start writing a snapshot that covers the log up to (excluding) the given segment
+     */
+    public Writer begin(long segmentId) throws IOException {
+        return new Writer(segmentId);
+    }
+
+    /**
+     * Delete every snapshot older than the given one
+     */
+    public void deleteOlderThan(Path snapshot) throws IOException {
+        for (Path path : listSnapshots()) {
+            if (path.getFileName().toString().compareTo(snapshot.getFileName().toString()) < 0) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Streams links into a temporary file; {@link #commit()} makes the snapshot visible
+     */
+    public class Writer implements AutoCloseable {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        private long count;
+        private boolean committed;
+
+        private Writer(long segmentId) throws IOException {
+            this.target = directory.resolve(String.format("%s%016d%s", SNAPSHOT_PREFIX, segmentId, SNAPSHOT_SUFFIX));
+            this.temp = directory.resolve(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(segmentId);
+        }
+
+        public void append(Link link) {
+            int maxSize = 4 + LinkCodec.encodedSize(link);
+            try {
+                if (buffer.remaining() < maxSize) {
+                    flush();
+                    if (buffer.capacity() < maxSize) {
+                        buffer = ByteBuffer.allocateDirect(maxSize);
+                    }
+                }
+                int start = buffer.position();
+                buffer.position(start + 4);
+                LinkCodec.writeLink(buffer, link);
+                buffer.putInt(start, buffer.position() - start - 4);
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing snapshot", e);
+            }
+        }
+
+        /**
+         * Write the trailer, fsync and atomically publish the snapshot
+         */
+        public Path commit() throws IOException {
+            if (buffer.remaining() < 12) {
+                flush();
+            }
+            buffer.putInt(END_MARKER).putLong(count);
+            flush();
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+            return target;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
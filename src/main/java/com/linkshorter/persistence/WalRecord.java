@@ -0,0 +1,114 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Entry of the write-ahead log.
+ * Every record carries absolute state, so replaying a record twice is harmless.
+ */
+public final class WalRecord {
+
+    public enum Type {
+        /**
+         * Link created or replaced (e.g. click limit update), full link state
+         */
+        PUT,
+
+        /**
+         * Link removed
+         */
+        DELETE,
+
+        /**
+         * Coalesced click count of a link
+         */
+        CLICKS
+    }
+
+    private final Type type;
+    private final String shortCode;
+    private final Link link;
+    private final int clickCount;
+
+    private WalRecord(Type type, String shortCode, Link link, int clickCount) {
+        this.type = type;
+        this.shortCode = shortCode;
+        this.link = link;
+        this.clickCount = clickCount;
+    }
+
+    public static WalRecord put(Link link) {
+        return new WalRecord(Type.PUT, link.getShortCode(), link, link.getClickCount());
+    }
+
+    public static WalRecord delete(String shortCode) {
+        return new WalRecord(Type.DELETE, shortCode, null, 0);
+    }
+
+    public static WalRecord clicks(String shortCode, int clickCount) {
+        return new WalRecord(Type.CLICKS, shortCode, null, clickCount);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getShortCode() {
+        return shortCode;
+    }
+
+    /**
+     * Link state, only for PUT records
+     */
+    public Link getLink() {
+        return link;
+    }
+
+    /**
+     * Click count, only meaningful for CLICKS records
+     */
+    public int getClickCount() {
+        return clickCount;
+    }
+
+    /**
+     * Serialize the record payload (type byte followed by type-specific fields)
+     */
+    public byte[] encode() {
+        int size = 1 + switch (type) {
+            case PUT -> LinkCodec.encodedSize(link);
+            case DELETE -> LinkCodec.stringSize(shortCode);
+            case CLICKS -> LinkCodec.stringSize(shortCode) + 4;
+        };
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put((byte) type.ordinal());
+        switch (type) {
+            case PUT -> LinkCodec.writeLink(buffer, link);
+            case DELETE -> LinkCodec.writeString(buffer, shortCode);
+            case CLICKS -> {
+                LinkCodec.writeString(buffer, shortCode);
+                buffer.putInt(clickCount);
+            }
+        }
+
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    public static WalRecord decode(ByteBuffer buffer) {
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= Type.values().length) {
+            throw new IllegalArgumentException("Unknown record type: " + ordinal);
+        }
+
+        return switch (Type.values()[ordinal]) {
+            case PUT -> put(LinkCodec.readLink(buffer));
+            case DELETE -> delete(LinkCodec.readString(buffer));
+            case CLICKS -> clicks(LinkCodec.readString(buffer), buffer.getInt());
+        };
+    }
+}
@@ -0,0 +1,354 @@
+package com.linkshorter.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented append-only log with group commit.
+ * <p>
+ * Appends are queued and written by a single background thread, which writes everything
+ * queued so far and then issues one fsync for the whole batch. Each record is framed as
+ * [int length][int crc32][payload]; replay stops at the first torn or corrupt record, so after
+ * a failed write every later append fails as well.
+ */
+public class WriteAheadLog implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxBatch;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock ioLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private volatile IOException failure;
+    private Thread writer;
+    private FileChannel channel;
+    private long segmentId;
+
+    public WriteAheadLog(Path directory, long segmentSize, int maxBatch) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size is too small");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBatch = maxBatch;
+        Files.createDirectories(directory);
+        this.segmentId = lastSegmentId();
+    }
+
+    /**
+     * Replay all existing segments in order. Must be called before {@link #start()}.
+     *
+     * @return number of records replayed
+     */
+    public int replay(Consumer<WalRecord> consumer) throws IOException {
+        return replay(0, consumer);
+    }
+
+    /**
+     * Replay segments starting from the given segment id. Must be called before {@link #start()}.
+     *
+     * @return number of records replayed
+     */
+    public synchronized int replay(long fromSegmentId, Consumer<WalRecord> consumer) throws IOException {
+        if (running) {
+            throw new IllegalStateException("Cannot replay a running log");
+        }
+
+        int count = 0;
+        for (Path segment : listSegments()) {
+            if (segmentIdOf(segment) >= fromSegmentId) {
+                count += replaySegment(segment, consumer);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Open a fresh segment and start the writer thread
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        openSegment(segmentId + 1);
+        running = true;
+        writer = new Thread(this::writeLoop, "wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a record; the future completes once the record is on disk
+     */
+    public CompletableFuture<Void> append(WalRecord record) {
+        PendingWrite pending = new PendingWrite(record.encode());
+        if (failure != null) {
+            pending.future.completeExceptionally(failure);
+            return pending.future;
+        }
+
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            pending.future.completeExceptionally(new IllegalStateException("Write-ahead log is closed"));
+        }
+        return pending.future;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Close the current segment and continue in a new one.
+     * Records appended after this call land in the returned segment or a later one.
+     *
+     * @return id of the segment now being written
+     */
+    public long rollSegment() throws IOException {
+        ioLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Write-ahead log is not running");
+            }
+            if (channel.position() > 0) {
+                channel.force(false);
+                channel.close();
+                openSegment(segmentId + 1);
+            }
+            return segmentId;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Delete segments that are fully covered by a snapshot
+     *
+     * @return number of deleted segments
+     */
+    public int deleteSegmentsBefore(long segmentId) throws IOException {
+        int deleted = 0;
+        for (Path segment : listSegments()) {
+            if (segmentIdOf(segment) < segmentId) {
+                Files.deleteIfExists(segment);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Write and sync everything queued so far, then stop the writer
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = writer;
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        ioLock.lock();
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error closing write-ahead log", e);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        CRC32 crc = new CRC32();
+
+        while (true) {
+            PendingWrite first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                if (!running && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, maxBatch - 1);
+
+            IOException failed = failure;
+            if (failed != null) {
+                // Anything written after a torn frame would be invisible to replay
+                for (PendingWrite pending : batch) {
+                    pending.future.completeExceptionally(failed);
+                }
+                batch.clear();
+                continue;
+            }
+
+            ioLock.lock();
+            try {
+                buffer = writeBatch(batch, buffer, crc);
+                channel.force(false);
+                for (PendingWrite pending : batch) {
+                    pending.future.complete(null);
+                }
+                if (channel.position() >= segmentSize) {
+                    channel.close();
+                    openSegment(segmentId + 1);
+                }
+            } catch (IOException e) {
+                failure = e;
+                for (PendingWrite pending : batch) {
+                    pending.future.completeExceptionally(e);
+                }
+            } finally {
+                ioLock.unlock();
+            }
+            batch.clear();
+        }
+    }
+
+    private ByteBuffer writeBatch(List<PendingWrite> batch, ByteBuffer buffer, CRC32 crc) throws IOException {
+        int total = 0;
+        for (PendingWrite pending : batch) {
+            total += HEADER_SIZE + pending.payload.length;
+        }
+        if (buffer.capacity() < total) {
+            buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(total) << 1);
+        }
+
+        buffer.clear();
+        for (PendingWrite pending : batch) {
+            crc.reset();
+            crc.update(pending.payload);
+            buffer.putInt(pending.payload.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(pending.payload);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return buffer;
+    }
+
+    private int replaySegment(Path segment, Consumer<WalRecord> consumer) throws IOException {
+        int count = 0;
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            CRC32 crc = new CRC32();
+
+            while (buffer.remaining() >= HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break; // Torn write at the tail
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                consumer.accept(WalRecord.decode(payload));
+                buffer.position(buffer.position() + length);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void openSegment(long id) throws IOException {
+        channel = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentId = id;
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(WriteAheadLog::isSegment)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Id of the segment currently being written (or the last existing one before start)
+     */
+    public long getSegmentId() {
+        ioLock.lock();
+        try {
+            return segmentId;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    private long lastSegmentId() throws IOException {
+        List<Path> segments = listSegments();
+        return segments.isEmpty() ? 0 : segmentIdOf(segments.get(segments.size() - 1));
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    static long segmentIdOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class PendingWrite {
+        final byte[] payload;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingWrite(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.util.CountingBloomFilter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Counting Bloom filter over the short codes of another engine
+ * <p>
+ * Lookups of codes the filter has never seen are answered without touching the store. The filter
+ * is built by scanning the store on startup; when the store outgrows the filter, it is rebuilt
+ * twice as large while writes wait.
+ * <p>
+ * No lock is held while the store writes, so a durable engine's fsync does not serialize writers.
+ * Every write adds its code to the filter first and takes it back if nothing was stored, so a
+ * stored link is never missing from the filter, even briefly. A save that replaced a link takes
+ * back its extra count unless a delete in the same stripe ran meanwhile; such a race can only
+ * leave a surplus count, which costs false positives until the next rebuild.
+ */
+public class BloomFilterLinkRepository implements LinkRepository {
+    private static final int STRIPES = 64;
+
+    private final LinkRepository delegate;
+    private final double falsePositiveRate;
+    private final AtomicLongArray deletesStarted = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray deletesFinished = new AtomicLongArray(STRIPES);
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final AtomicLong codes = new AtomicLong();
+    private volatile CountingBloomFilter filter;
+
+    private final LongAdder filteredLookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * @param expectedLinks     initial filter size; it grows when the store holds more links
+     * @param falsePositiveRate share of lookups for absent codes that still reach the store
+     */
+    public BloomFilterLinkRepository(LinkRepository delegate, long expectedLinks, double falsePositiveRate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        if (expectedLinks <= 0) {
+            throw new IllegalArgumentException("Expected links must be positive");
+        }
+        this.delegate = delegate;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = build(Math.max(expectedLinks, delegate.count() * 2L));
+    }
+
+    @Override
+    public Optional<Link> findByShortCode(String shortCode) {
+        return Optional.ofNullable(findByShortCodeOrNull(shortCode));
+    }
+
+    @Override
+    public Link findByShortCodeOrNull(String shortCode) {
+        if (!filter.mightContain(shortCode)) {
+            filteredLookups.increment();
+            return null;
+        }
+        Link link = delegate.findByShortCodeOrNull(shortCode);
+        if (link == null) {
+            falsePositives.increment();
+        }
+        return link;
+    }
+
+    @Override
+    public boolean exists(String shortCode) {
+        return findByShortCodeOrNull(shortCode) != null;
+    }
+
+    @Override
+    public void save(Link link) {
+        String shortCode = link.getShortCode();
+        int stripe = stripeFor(shortCode);
+        rebuildLock.readLock().lock();
+        try {
+            added(shortCode);
+            long deletes = deletesStarted.get(stripe);
+            boolean quiet = deletesFinished.get(stripe) == deletes;
+            boolean replacing;
+            try {
+                replacing = delegate.exists(shortCode);
+                delegate.save(link);
+            } catch (RuntimeException e) {
+                removed(shortCode);
+                throw e;
+            }
+            // Without a concurrent delete the link seen above is the one just replaced
+            if (replacing && quiet && deletesStarted.get(stripe) == deletes) {
+                removed(shortCode);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        growIfFull();
+    }
+
+    @Override
+    public boolean saveIfAbsent(Link link) {
+        String shortCode = link.getShortCode();
+        boolean saved = false;
+        rebuildLock.readLock().lock();
+        try {
+            added(shortCode);
+            saved = delegate.saveIfAbsent(link);
+        } finally {
+            if (!saved) {
+                removed(shortCode);
+            }
+            rebuildLock.readLock().unlock();
+        }
+        if (saved) {
+            growIfFull();
+        }
+        return saved;
+    }
+
+    /**
+     * Codes are added to the filter before the batch is stored and taken ones removed afterwards,
+     * so a stored link is never missing from the filter, even briefly
+     */
+    @Override
+    public List<Link> saveAllIfAbsent(List<Link> links) {
+        List<Link> taken;
+        rebuildLock.readLock().lock();
+        try {
+            for (Link link : links) {
+                added(link.getShortCode());
+            }
+            try {
+                taken = delegate.saveAllIfAbsent(links);
+            } catch (RuntimeException e) {
+                // Rolled back by the store; a batch that half succeeded only leaves surplus counts
+                for (Link link : links) {
+                    if (!delegate.exists(link.getShortCode())) {
+                        removed(link.getShortCode());
+                    }
+                }
+                throw e;
+            }
+            for (Link link : taken) {
+                removed(link.getShortCode());
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        growIfFull();
+        return taken;
+    }
+
+    @Override
+    public boolean delete(String shortCode) {
+        int stripe = stripeFor(shortCode);
+        rebuildLock.readLock().lock();
+        deletesStarted.incrementAndGet(stripe);
+        try {
+            boolean deleted = delegate.delete(shortCode);
+            if (deleted) {
+                removed(shortCode);
+            }
+            return deleted;
+        } finally {
+            deletesFinished.incrementAndGet(stripe);
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        rebuildLock.writeLock().lock();
+        try {
+            delegate.clear();
+            filter = build(filter.getExpectedInsertions());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the filter from the store, sized for twice the current number of links
+     */
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            filter = build(Math.max(filter.getExpectedInsertions(), delegate.count() * 2L));
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void recordClick(Link link) {
+        delegate.recordClick(link);
+    }
+
+    @Override
+    public List<Link> findByOwnerId(UUID ownerId) {
+        return delegate.findByOwnerId(ownerId);
+    }
+
+    @Override
+    public LinkPage findByOwnerId(UUID ownerId, String cursor, int limit) {
+        return delegate.findByOwnerId(ownerId, cursor, limit);
+    }
+
+    @Override
+    public Stream<Link> streamByOwnerId(UUID ownerId) {
+        return delegate.streamByOwnerId(ownerId);
+    }
+
+    @Override
+    public void scan(Consumer<Link> action) {
+        delegate.scan(action);
+    }
+
+    @Override
+    public List<Link> findExpired(Instant now, int limit) {
+        return delegate.findExpired(now, limit);
+    }
+
+    @Override
+    public int countExpired(Instant now) {
+        return delegate.countExpired(now);
+    }
+
+    @Override
+    public List<Link> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    public LinkRepository getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Number of links the current filter is sized for
+     */
+    public long getFilterCapacity() {
+        return filter.getExpectedInsertions();
+    }
+
+    /**
+     * Lookups answered as absent by the filter alone
+     */
+    public long getFilteredLookups() {
+        return filteredLookups.sum();
+    }
+
+    /**
+     * Lookups the filter let through for codes that are not stored
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    private void added(String shortCode) {
+        filter.add(shortCode);
+        codes.incrementAndGet();
+    }
+
+    private void removed(String shortCode) {
+        filter.remove(shortCode);
+        codes.decrementAndGet();
+    }
+
+    private void growIfFull() {
+        if (codes.get() > filter.getExpectedInsertions()) {
+            rebuildLock.writeLock().lock();
+            try {
+                if (codes.get() > filter.getExpectedInsertions()) {
+                    filter = build(codes.get() * 2);
+                }
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Fill a new filter from the store; callers must keep writers out
+     */
+    private CountingBloomFilter build(long expectedLinks) {
+        CountingBloomFilter built = new CountingBloomFilter(Math.max(expectedLinks, 1), falsePositiveRate);
+        AtomicLong scanned = new AtomicLong();
+        delegate.scan(link -> {
+            built.add(link.getShortCode());
+            scanned.incrementAndGet();
+        });
+        codes.set(scanned.get());
+        return built;
+    }
+
+    private static int stripeFor(String shortCode) {
+        int h = shortCode.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,239 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Short code lookup cache in front of another engine
+ * <p>
+ * Found links and codes known to be absent are kept in two direct-mapped tables: a code has
+ * exactly one slot in each, and a newer entry simply overwrites it. Unknown codes requested by
+ * scanners therefore fill only the negative table and never evict real links.
+ * <p>
+ * Each slot has a write epoch that every save or delete of a code mapped to it increments after
+ * the store has changed. A reader remembers the epoch before asking the store and tags its entry
+ * with it, so an entry filled concurrently with a write is never served. Writes invalidate even
+ * when the delegate throws: a durable engine publishes a change before its log write and rolls
+ * it back if that fails, and a lookup in between may have cached it.
+ * <p>
+ * Cached links are shared between requests, so their click counters must stay valid for as
+ * long as the link is unchanged. Off-heap views re-resolve their slot when a delete moves them.
+ */
+public class CachingLinkRepository implements LinkRepository {
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(Entry[].class);
+
+    private final LinkRepository delegate;
+    private final Entry[] found;
+    private final Entry[] absent;
+    private final AtomicLongArray epochs;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity number of slots in each table, rounded up to a power of two
+     */
+    public CachingLinkRepository(LinkRepository delegate, int capacity) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Cache capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.delegate = delegate;
+        this.found = new Entry[size];
+        this.absent = new Entry[size];
+        this.epochs = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public Optional<Link> findByShortCode(String shortCode) {
+        return Optional.ofNullable(findByShortCodeOrNull(shortCode));
+    }
+
+    @Override
+    public Link findByShortCodeOrNull(String shortCode) {
+        int slot = slot(shortCode);
+        long epoch = epochs.get(slot);
+
+        Entry entry = (Entry) ENTRIES.getAcquire(found, slot);
+        if (entry != null && entry.epoch == epoch && entry.shortCode.equals(shortCode)) {
+            hits.increment();
+            return entry.link;
+        }
+        entry = (Entry) ENTRIES.getAcquire(absent, slot);
+        if (entry != null && entry.epoch == epoch && entry.shortCode.equals(shortCode)) {
+            negativeHits.increment();
+            return null;
+        }
+
+        misses.increment();
+        Link link = delegate.findByShortCodeOrNull(shortCode);
+        if (link != null) {
+            ENTRIES.setRelease(found, slot, new Entry(shortCode, link, epoch));
+        } else {
+            ENTRIES.setRelease(absent, slot, new Entry(shortCode, null, epoch));
+        }
+        return link;
+    }
+
+    @Override
+    public boolean exists(String shortCode) {
+        return findByShortCodeOrNull(shortCode) != null;
+    }
+
+    @Override
+    public void save(Link link) {
+        try {
+            delegate.save(link);
+        } finally {
+            invalidate(link.getShortCode());
+        }
+    }
+
+    @Override
+    public boolean saveIfAbsent(Link link) {
+        try {
+            return delegate.saveIfAbsent(link);
+        } finally {
+            invalidate(link.getShortCode());
+        }
+    }
+
+    @Override
+    public List<Link> saveAllIfAbsent(List<Link> links) {
+        try {
+            return delegate.saveAllIfAbsent(links);
+        } finally {
+            // Invalidating a taken code as well is harmless and avoids matching the two lists
+            for (Link link : links) {
+                invalidate(link.getShortCode());
+            }
+        }
+    }
+
+    @Override
+    public boolean delete(String shortCode) {
+        try {
+            return delegate.delete(shortCode);
+        } finally {
+            invalidate(shortCode);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            delegate.clear();
+        } finally {
+            for (int i = 0; i <= mask; i++) {
+                epochs.incrementAndGet(i);
+            }
+        }
+    }
+
+    @Override
+    public void recordClick(Link link) {
+        delegate.recordClick(link);
+    }
+
+    @Override
+    public List<Link> findByOwnerId(UUID ownerId) {
+        return delegate.findByOwnerId(ownerId);
+    }
+
+    @Override
+    public LinkPage findByOwnerId(UUID ownerId, String cursor, int limit) {
+        return delegate.findByOwnerId(ownerId, cursor, limit);
+    }
+
+    @Override
+    public Stream<Link> streamByOwnerId(UUID ownerId) {
+        return delegate.streamByOwnerId(ownerId);
+    }
+
+    @Override
+    public void scan(Consumer<Link> action) {
+        delegate.scan(action);
+    }
+
+    @Override
+    public List<Link> findExpired(Instant now, int limit) {
+        return delegate.findExpired(now, limit);
+    }
+
+    @Override
+    public int countExpired(Instant now) {
+        return delegate.countExpired(now);
+    }
+
+    @Override
+    public List<Link> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    public LinkRepository getDelegate() {
+        return delegate;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Lookups answered as absent without asking the store
+     */
+    public long getNegativeHits() {
+        return negativeHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void invalidate(String shortCode) {
+        epochs.incrementAndGet(slot(shortCode));
+    }
+
+    private int slot(String shortCode) {
+        int h = shortCode.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Cached lookup result; link is null for an absent code
+     */
+    private record Entry(String shortCode, Link link, long epoch) {
+    }
+}
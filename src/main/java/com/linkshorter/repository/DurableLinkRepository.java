@@ -0,0 +1,328 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.persistence.LinkCodec;
+import com.linkshorter.persistence.SnapshotStore;
+import com.linkshorter.persistence.WalRecord;
+import com.linkshorter.persistence.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory repository made durable by a write-ahead log
+ * <p>
+ * Saves and deletes are logged and wait for the group commit fsync; a change the log fails to
+ * write is rolled back in memory before the error is thrown. Clicks are only marked
+ * dirty on the redirect path; a background task writes the latest click count of each dirty
+ * link without waiting for the fsync.
+ * <p>
+ * When a snapshot store is configured, the whole store is periodically written to a snapshot
+ * in the background while writes continue, and log segments covered by it are deleted. Startup
+ * loads the latest snapshot and replays only the log written after it.
+ */
+public class DurableLinkRepository extends InMemoryLinkRepository {
+    private final WriteAheadLog wal;
+    private final SnapshotStore snapshots;
+    private final Set<String> dirtyClicks = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+    private final Object writeLock = new Object();
+    private final AtomicLong changesSinceSnapshot = new AtomicLong();
+    private final int recoveredRecords;
+    private final int snapshotLinks;
+
+    public DurableLinkRepository(WriteAheadLog wal, long clickFlushInterval) throws IOException {
+        this(wal, null, clickFlushInterval, 0);
+    }
+
+    /**
+     * @param snapshots        snapshot store, or null to rely on the log alone
+     * @param snapshotInterval interval between snapshots in milliseconds, 0 to only snapshot on demand
+     */
+    public DurableLinkRepository(WriteAheadLog wal, SnapshotStore snapshots,
+                                 long clickFlushInterval, long snapshotInterval) throws IOException {
+        if (clickFlushInterval <= 0) {
+            throw new IllegalArgumentException("Click flush interval must be positive");
+        }
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("Snapshot interval cannot be negative");
+        }
+        this.wal = wal;
+        this.snapshots = snapshots;
+
+        long replayFrom = 0;
+        int loaded = 0;
+        if (snapshots != null) {
+            Optional<Path> latest = snapshots.latest();
+            if (latest.isPresent()) {
+                replayFrom = snapshots.load(latest.get(), super::save);
+                loaded = count();
+            }
+        }
+        this.snapshotLinks = loaded;
+        this.recoveredRecords = wal.replay(replayFrom, this::apply);
+        wal.start();
+
+        this.scheduler = Executors.newScheduledThreadPool(2, task -> {
+            Thread thread = new Thread(task, "wal-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushClicks,
+                clickFlushInterval, clickFlushInterval, TimeUnit.MILLISECONDS);
+        if (snapshots != null && snapshotInterval > 0) {
+            scheduler.scheduleWithFixedDelay(this::scheduledSnapshot,
+                    snapshotInterval, snapshotInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Number of links loaded from the snapshot on startup
+     */
+    public int getSnapshotLinks() {
+        return snapshotLinks;
+    }
+
+    /**
+     * Number of log records replayed on startup
+     */
+    public int getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    @Override
+    public void save(Link link) {
+        if (link == null) {
+            throw new IllegalArgumentException("Link cannot be null");
+        }
+
+        CompletableFuture<Void> written;
+        Link previous;
+        synchronized (writeLock) {
+            previous = super.findByShortCodeOrNull(link.getShortCode());
+            written = wal.append(WalRecord.put(link));
+            super.save(link);
+        }
+        changesSinceSnapshot.incrementAndGet();
+        await(written, () -> undoSave(link, previous));
+    }
+
+    @Override
+    public boolean saveIfAbsent(Link link) {
+        if (link == null) {
+            throw new IllegalArgumentException("Link cannot be null");
+        }
+
+        CompletableFuture<Void> written;
+        synchronized (writeLock) {
+            if (!super.saveIfAbsent(link)) {
+                return false;
+            }
+            written = wal.append(WalRecord.put(link));
+        }
+        changesSinceSnapshot.incrementAndGet();
+        await(written, () -> undoSave(link, null));
+        return true;
+    }
+
+    /**
+     * Appends the batch under one lock and waits for the log once, so it shares a group commit
+     */
+    @Override
+    public List<Link> saveAllIfAbsent(List<Link> links) {
+        for (Link link : links) {
+            if (link == null) {
+                throw new IllegalArgumentException("Link cannot be null");
+            }
+        }
+
+        List<Link> taken = new ArrayList<>();
+        List<Link> saved = new ArrayList<>(links.size());
+        List<CompletableFuture<Void>> writes = new ArrayList<>(links.size());
+        synchronized (writeLock) {
+            for (Link link : links) {
+                if (super.saveIfAbsent(link)) {
+                    saved.add(link);
+                    writes.add(wal.append(WalRecord.put(link)));
+                } else {
+                    taken.add(link);
+                }
+            }
+        }
+        if (!saved.isEmpty()) {
+            changesSinceSnapshot.addAndGet(saved.size());
+            // Records are committed in order, so the last one covers the batch
+            await(writes.get(writes.size() - 1), () -> {
+                for (int i = 0; i < saved.size(); i++) {
+                    if (writes.get(i).isCompletedExceptionally()) {
+                        undoSave(saved.get(i), null);
+                    }
+                }
+            });
+        }
+        return taken;
+    }
+
+    @Override
+    public boolean delete(String shortCode) {
+        CompletableFuture<Void> written;
+        Link removed;
+        synchronized (writeLock) {
+            removed = super.findByShortCodeOrNull(shortCode);
+            if (removed == null || !super.delete(shortCode)) {
+                return false;
+            }
+            written = wal.append(WalRecord.delete(shortCode));
+        }
+        changesSinceSnapshot.incrementAndGet();
+        await(written, () -> {
+            synchronized (writeLock) {
+                if (super.findByShortCodeOrNull(shortCode) == null) {
+                    super.save(removed);
+                }
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void recordClick(Link link) {
+        String shortCode = link.getShortCode();
+        // Read first: for an already dirty hot link the redirect path does not write
+        if (!dirtyClicks.contains(shortCode)) {
+            dirtyClicks.add(shortCode);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Link link : findAll()) {
+            delete(link.getShortCode());
+        }
+    }
+
+    /**
+     * Append the latest click count of every link clicked since the previous flush
+     */
+    void flushClicks() {
+        Iterator<String> it = dirtyClicks.iterator();
+        while (it.hasNext()) {
+            String shortCode = it.next();
+            it.remove();
+            synchronized (writeLock) {
+                Optional<Link> link = findByShortCode(shortCode);
+                link.ifPresent(l -> wal.append(WalRecord.clicks(shortCode, l.getClickCount())));
+            }
+            changesSinceSnapshot.incrementAndGet();
+        }
+    }
+
+    /**
+     * Write a snapshot of the current state and drop the log segments it covers.
+     * Writes continue while the snapshot is taken: changes made meanwhile go to the
+     * new log segment, and replaying them over the snapshot is idempotent.
+     *
+     * @return number of links in the snapshot
+     */
+    public synchronized long snapshot() throws IOException {
+        if (snapshots == null) {
+            throw new IllegalStateException("Snapshots are not configured");
+        }
+
+        long segmentId;
+        synchronized (writeLock) {
+            // Everything logged before the roll is already applied in memory
+            segmentId = wal.rollSegment();
+            changesSinceSnapshot.set(0);
+        }
+
+        Path written;
+        long count;
+        try (SnapshotStore.Writer writer = snapshots.begin(segmentId)) {
+            scan(writer::append);
+            written = writer.commit();
+            count = writer.getCount();
+        }
+
+        snapshots.deleteOlderThan(written);
+        wal.deleteSegmentsBefore(segmentId);
+        return count;
+    }
+
+    private void scheduledSnapshot() {
+        if (changesSinceSnapshot.get() == 0) {
+            return;
+        }
+        try {
+            long count = snapshot();
+            System.out.println("[WAL] Снимок сохранён, ссылок: " + count);
+        } catch (Exception e) {
+            System.err.println("[WAL] Ошибка при создании снимка: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flush pending clicks and close the log
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushClicks();
+        wal.close();
+    }
+
+    private void apply(WalRecord record) {
+        switch (record.getType()) {
+            case PUT -> super.save(record.getLink());
+            case DELETE -> super.delete(record.getShortCode());
+            case CLICKS -> super.findByShortCode(record.getShortCode())
+                    .filter(link -> link.getClickCount() != record.getClickCount())
+                    .ifPresent(link -> super.save(LinkCodec.withClickCount(link, record.getClickCount())));
+        }
+    }
+
+    /**
+     * Put back what a failed save replaced, unless a later write has changed the code since
+     */
+    private void undoSave(Link link, Link previous) {
+        synchronized (writeLock) {
+            if (super.findByShortCodeOrNull(link.getShortCode()) != link) {
+                return;
+            }
+            if (previous != null) {
+                super.save(previous);
+            } else {
+                super.delete(link.getShortCode());
+            }
+        }
+    }
+
+    /**
+     * Wait for the log; if the write failed, run the rollback before reporting the error
+     */
+    private static void await(CompletableFuture<Void> written, Runnable rollback) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            rollback.run();
+            throw new IllegalStateException("Failed to write to the write-ahead log", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.util.Base62;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory repository for storing and managing links
+ * Thread-safe implementation: base62 codes of up to 10 characters are keyed by their packed
+ * long form in a {@link LongLinkMap}, any other code in a ConcurrentHashMap
+ * Links are also indexed by expiry time, so finding expired links does not scan the store,
+ * and by owner in a compact {@link OwnerIndex}
+ */
+public class InMemoryLinkRepository implements LinkRepository {
+    private final LongLinkMap linksByPackedCode;
+    private final Map<String, Link> unpackableLinks;
+    private final OwnerIndex ownerIndex;
+    private final NavigableSet<ExpiryEntry> expiryIndex;
+
+    public InMemoryLinkRepository() {
+        this.linksByPackedCode = new LongLinkMap();
+        this.unpackableLinks = new ConcurrentHashMap<>();
+        this.ownerIndex = new OwnerIndex();
+        this.expiryIndex = new ConcurrentSkipListSet<>();
+    }
+
+    /**
+     * Save a new link
+     */
+    @Override
+    public void save(Link link) {
+        if (link == null) {
+            throw new IllegalArgumentException("Link cannot be null");
+        }
+
+        Link previous = putLink(link);
+        if (previous != null && previous.getExpiresAtMillis() != link.getExpiresAtMillis()) {
+            expiryIndex.remove(ExpiryEntry.of(previous));
+        }
+        expiryIndex.add(ExpiryEntry.of(link));
+
+        if (previous != null && !previous.getOwnerId().equals(link.getOwnerId())) {
+            ownerIndex.remove(previous.getOwnerId(), previous.getShortCode());
+        }
+        ownerIndex.add(link.getOwnerId(), link.getShortCode());
+    }
+
+    @Override
+    public boolean saveIfAbsent(Link link) {
+        if (link == null) {
+            throw new IllegalArgumentException("Link cannot be null");
+        }
+
+        if (putLinkIfAbsent(link) != null) {
+            return false;
+        }
+        expiryIndex.add(ExpiryEntry.of(link));
+        ownerIndex.add(link.getOwnerId(), link.getShortCode());
+        return true;
+    }
+
+    /**
+     * Find a link by its short code
+     */
+    @Override
+    public Optional<Link> findByShortCode(String shortCode) {
+        return Optional.ofNullable(getLink(shortCode));
+    }
+
+    @Override
+    public Link findByShortCodeOrNull(String shortCode) {
+        return getLink(shortCode);
+    }
+
+    /**
+     * Find all links owned by a user
+     */
+    @Override
+    public List<Link> findByOwnerId(UUID ownerId) {
+        return ownerIndex.get(ownerId).stream()
+                .map(this::getLink)
+                .filter(link -> link != null && link.getOwnerId().equals(ownerId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the owner's codes in order straight from the owner index, a page at a time
+     */
+    @Override
+    public LinkPage findByOwnerId(UUID ownerId, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+
+        List<Link> links = new ArrayList<>(Math.min(limit, 64));
+        String after = cursor;
+        while (links.size() < limit) {
+            List<String> codes = ownerIndex.page(ownerId, after, limit - links.size());
+            if (codes.isEmpty()) {
+                return new LinkPage(links, null);
+            }
+            for (String shortCode : codes) {
+                Link link = getLink(shortCode);
+                if (link != null && link.getOwnerId().equals(ownerId)) {
+                    links.add(link);
+                }
+            }
+            after = codes.get(codes.size() - 1);
+        }
+        return new LinkPage(links, ownerIndex.page(ownerId, after, 1).isEmpty() ? null : after);
+    }
+
+    /**
+     * Delete a link by short code
+     */
+    @Override
+    public boolean delete(String shortCode) {
+        Link link = removeLink(shortCode);
+        if (link != null) {
+            expiryIndex.remove(ExpiryEntry.of(link));
+            ownerIndex.remove(link.getOwnerId(), shortCode);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check if a short code already exists
+     */
+    @Override
+    public boolean exists(String shortCode) {
+        return getLink(shortCode) != null;
+    }
+
+    /**
+     * Walks the expiry index from the earliest entry, so the cost is proportional to the result
+     */
+    @Override
+    public List<Link> findExpired(Instant now, int limit) {
+        long nowMillis = now.toEpochMilli();
+        List<Link> expired = new ArrayList<>();
+        Iterator<ExpiryEntry> it = expiryIndex.iterator();
+        while (it.hasNext() && expired.size() < limit) {
+            ExpiryEntry entry = it.next();
+            if (nowMillis <= entry.expiresAt()) {
+                break;
+            }
+            Link link = getLink(entry.shortCode());
+            if (link != null && link.getExpiresAtMillis() == entry.expiresAt()) {
+                expired.add(link);
+            } else {
+                // Left behind by a concurrent replace or delete
+                it.remove();
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public int countExpired(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        int count = 0;
+        for (ExpiryEntry entry : expiryIndex) {
+            if (nowMillis <= entry.expiresAt()) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get all links
+     */
+    @Override
+    public List<Link> findAll() {
+        List<Link> result = new ArrayList<>(count());
+        scan(result::add);
+        return result;
+    }
+
+    @Override
+    public void scan(Consumer<Link> action) {
+        linksByPackedCode.forEach(action);
+        unpackableLinks.values().forEach(action);
+    }
+
+    /**
+     * Get total number of links
+     */
+    @Override
+    public int count() {
+        return linksByPackedCode.size() + unpackableLinks.size();
+    }
+
+    /**
+     * Clear all links (useful for testing)
+     */
+    @Override
+    public void clear() {
+        linksByPackedCode.clear();
+        unpackableLinks.clear();
+        ownerIndex.clear();
+        expiryIndex.clear();
+    }
+
+    private Link getLink(String shortCode) {
+        long key = Base62.pack(shortCode);
+        return key != Base62.NOT_PACKABLE ? linksByPackedCode.get(key) : unpackableLinks.get(shortCode);
+    }
+
+    private Link putLink(Link link) {
+        long key = Base62.pack(link.getShortCode());
+        return key != Base62.NOT_PACKABLE
+                ? linksByPackedCode.put(key, link)
+                : unpackableLinks.put(link.getShortCode(), link);
+    }
+
+    private Link putLinkIfAbsent(Link link) {
+        long key = Base62.pack(link.getShortCode());
+        return key != Base62.NOT_PACKABLE
+                ? linksByPackedCode.putIfAbsent(key, link)
+                : unpackableLinks.putIfAbsent(link.getShortCode(), link);
+    }
+
+    private Link removeLink(String shortCode) {
+        long key = Base62.pack(shortCode);
+        return key != Base62.NOT_PACKABLE ? linksByPackedCode.remove(key) : unpackableLinks.remove(shortCode);
+    }
+
+    /**
+     * Index entry ordered by expiry time, then by short code
+     */
+    private record ExpiryEntry(long expiresAt, String shortCode) implements Comparable<ExpiryEntry> {
+        static ExpiryEntry of(Link link) {
+            return new ExpiryEntry(link.getExpiresAtMillis(), link.getShortCode());
+        }
+
+        @Override
+        public int compareTo(ExpiryEntry other) {
+            int byTime = Long.compare(expiresAt, other.expiresAt);
+            return byTime != 0 ? byTime : shortCode.compareTo(other.shortCode);
+        }
+    }
+}
+
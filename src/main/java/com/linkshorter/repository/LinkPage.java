@@ -0,0 +1,21 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+
+import java.util.List;
+
+/**
+ * One page of a user's links, ordered by short code
+ *
+ * @param nextCursor cursor for the following page, or null if this is the last one
+ */
+public record LinkPage(List<Link> links, String nextCursor) {
+
+    public LinkPage {
+        links = List.copyOf(links);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
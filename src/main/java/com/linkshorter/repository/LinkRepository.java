@@ -2,97 +2,203 @@ package com.linkshorter.repository;
 
 import com.linkshorter.model.Link;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * In-memory repository for storing and managing links
- * Thread-safe implementation using ConcurrentHashMap
+ * Storage engine for links
+ * Implementations must be thread-safe
  */
-public class LinkRepository {
-    private final Map<String, Link> linksByShortCode;
-    private final Map<UUID, Set<String>> linksByUser;
+public interface LinkRepository extends AutoCloseable {
 
-    public LinkRepository() {
-        this.linksByShortCode = new ConcurrentHashMap<>();
-        this.linksByUser = new ConcurrentHashMap<>();
-    }
+    /**
+     * Number of links fetched at a time by {@link #streamByOwnerId(UUID)}
+     */
+    int STREAM_PAGE_SIZE = 256;
 
     /**
-     * Save a new link
+     * Save a new link or replace the link with the same short code
      */
-    public void save(Link link) {
-        if (link == null) {
-            throw new IllegalArgumentException("Link cannot be null");
-        }
+    void save(Link link);
 
-        linksByShortCode.put(link.getShortCode(), link);
+    /**
+     * Save a link only if its short code is not taken, as a single atomic step
+     *
+     * @return false if another link already has the short code
+     */
+    boolean saveIfAbsent(Link link);
 
-        linksByUser.computeIfAbsent(link.getOwnerId(), k -> ConcurrentHashMap.newKeySet())
-                .add(link.getShortCode());
+    /**
+     * Store a batch of links whose short codes are free
+     * Durable engines commit the whole batch to disk together
+     *
+     * @return the links that were not stored because their short code is taken
+     */
+    default List<Link> saveAllIfAbsent(List<Link> links) {
+        List<Link> taken = new ArrayList<>();
+        for (Link link : links) {
+            if (!saveIfAbsent(link)) {
+                taken.add(link);
+            }
+        }
+        return taken;
     }
 
     /**
      * Find a link by its short code
      */
-    public Optional<Link> findByShortCode(String shortCode) {
-        return Optional.ofNullable(linksByShortCode.get(shortCode));
+    Optional<Link> findByShortCode(String shortCode);
+
+    /**
+     * Find a link by its short code without an Optional wrapper, for the redirect path
+     *
+     * @return the link, or null if there is none
+     */
+    default Link findByShortCodeOrNull(String shortCode) {
+        return findByShortCode(shortCode).orElse(null);
     }
 
     /**
      * Find all links owned by a user
      */
-    public List<Link> findByOwnerId(UUID ownerId) {
-        Set<String> shortCodes = linksByUser.getOrDefault(ownerId, Collections.emptySet());
-        return shortCodes.stream()
-                .map(linksByShortCode::get)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    List<Link> findByOwnerId(UUID ownerId);
+
+    /**
+     * One page of a user's links ordered by short code
+     * Engines without an ordered owner index sort the full list for every page
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit  maximum number of links on the page
+     */
+    default LinkPage findByOwnerId(UUID ownerId, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        List<Link> sorted = findByOwnerId(ownerId).stream()
+                .filter(link -> cursor == null || link.getShortCode().compareTo(cursor) > 0)
+                .sorted(Comparator.comparing(Link::getShortCode))
+                .toList();
+        if (sorted.size() <= limit) {
+            return new LinkPage(sorted, null);
+        }
+        List<Link> links = sorted.subList(0, limit);
+        return new LinkPage(links, links.get(limit - 1).getShortCode());
     }
 
     /**
-     * Delete a link by short code
+     * Lazily stream a user's links ordered by short code, fetching them page by page
+     * Weakly consistent: links changed while streaming may or may not be included
      */
-    public boolean delete(String shortCode) {
-        Link link = linksByShortCode.remove(shortCode);
-        if (link != null) {
-            Set<String> userLinks = linksByUser.get(link.getOwnerId());
-            if (userLinks != null) {
-                userLinks.remove(shortCode);
+    default Stream<Link> streamByOwnerId(UUID ownerId) {
+        Iterator<Link> pages = new Iterator<>() {
+            private LinkPage page;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                if (page == null) {
+                    page = findByOwnerId(ownerId, null, STREAM_PAGE_SIZE);
+                }
+                while (index == page.links().size() && page.hasNext()) {
+                    page = findByOwnerId(ownerId, page.nextCursor(), STREAM_PAGE_SIZE);
+                    index = 0;
+                }
+                return index < page.links().size();
             }
-            return true;
-        }
-        return false;
+
+            @Override
+            public Link next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.links().get(index++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Delete a link by short code
+     */
+    boolean delete(String shortCode);
+
+    /**
+     * Record that a link has been clicked
+     * Engines that keep click counts on the link itself have nothing to do
+     */
+    default void recordClick(Link link) {
     }
 
     /**
      * Check if a short code already exists
      */
-    public boolean exists(String shortCode) {
-        return linksByShortCode.containsKey(shortCode);
+    default boolean exists(String shortCode) {
+        return findByShortCode(shortCode).isPresent();
+    }
+
+    /**
+     * Visit every link without copying the store
+     * Weakly consistent: concurrent changes may or may not be observed
+     */
+    void scan(Consumer<Link> action);
+
+    /**
+     * Links expired at the given instant, at most limit of them
+     * Engines without an expiry index fall back to a full scan
+     */
+    default List<Link> findExpired(Instant now, int limit) {
+        long nowMillis = now.toEpochMilli();
+        List<Link> expired = new ArrayList<>();
+        scan(link -> {
+            if (expired.size() < limit && link.isExpiredAt(nowMillis)) {
+                expired.add(link);
+            }
+        });
+        return expired;
+    }
+
+    /**
+     * Number of links expired at the given instant
+     */
+    default int countExpired(Instant now) {
+        return findExpired(now, Integer.MAX_VALUE).size();
     }
 
     /**
      * Get all links
      */
-    public List<Link> findAll() {
-        return new ArrayList<>(linksByShortCode.values());
+    default List<Link> findAll() {
+        List<Link> result = new ArrayList<>();
+        scan(result::add);
+        return result;
     }
 
     /**
      * Get total number of links
      */
-    public int count() {
-        return linksByShortCode.size();
-    }
+    int count();
 
     /**
      * Clear all links (useful for testing)
      */
-    public void clear() {
-        linksByShortCode.clear();
-        linksByUser.clear();
+    void clear();
+
+    /**
+     * Release resources held by the engine
+     */
+    @Override
+    default void close() {
     }
 }
-
@@ -0,0 +1,93 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.persistence.SnapshotStore;
+import com.linkshorter.persistence.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Creates the storage engine selected by the repository.engine setting
+ * File-backed engines are wrapped in a short code Bloom filter and a lookup cache,
+ * unless repository.bloom.expected or repository.cache.size is 0
+ */
+public final class LinkRepositoryFactory {
+    public static final String ENGINE_MEMORY = "memory";
+    public static final String ENGINE_WAL = "wal";
+    public static final String ENGINE_OFFHEAP = "offheap";
+
+    private LinkRepositoryFactory() {
+    }
+
+    /**
+     * Create the engine configured in the application properties
+     */
+    public static LinkRepository create(AppConfiguration config) {
+        return create(config.getRepositoryEngine(), config);
+    }
+
+    /**
+     * Create an engine by name, taking its settings from the configuration
+     */
+    public static LinkRepository create(String engine, AppConfiguration config) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Repository engine cannot be null");
+        }
+
+        return switch (engine.trim().toLowerCase()) {
+            case ENGINE_MEMORY -> new InMemoryLinkRepository();
+            case ENGINE_WAL -> withCache(withBloomFilter(createDurable(config), config), config);
+            case ENGINE_OFFHEAP -> withCache(withBloomFilter(createOffHeap(config), config), config);
+            default -> throw new IllegalArgumentException("Unknown repository engine: " + engine);
+        };
+    }
+
+    private static LinkRepository withBloomFilter(LinkRepository repository, AppConfiguration config) {
+        long expectedLinks = config.getBloomExpectedLinks();
+        if (expectedLinks <= 0) {
+            return repository;
+        }
+        BloomFilterLinkRepository filtered = new BloomFilterLinkRepository(repository, expectedLinks,
+                config.getBloomFalsePositiveRate());
+        System.out.println("[Bloom] Фильтр коротких кодов построен (рассчитан на ссылок: " +
+                filtered.getFilterCapacity() + ")");
+        return filtered;
+    }
+
+    private static LinkRepository withCache(LinkRepository repository, AppConfiguration config) {
+        int cacheSize = config.getRepositoryCacheSize();
+        return cacheSize > 0 ? new CachingLinkRepository(repository, cacheSize) : repository;
+    }
+
+    private static DurableLinkRepository createDurable(AppConfiguration config) {
+        try {
+            Path directory = Path.of(config.getWalDirectory());
+            WriteAheadLog wal = new WriteAheadLog(directory, config.getWalSegmentSize(), config.getWalMaxBatch());
+            SnapshotStore snapshots = new SnapshotStore(directory);
+            DurableLinkRepository repository = new DurableLinkRepository(wal, snapshots,
+                    config.getWalClickFlushInterval(), config.getSnapshotInterval());
+            System.out.println("[WAL] Восстановлено ссылок: " + repository.count() +
+                    " (из снимка: " + repository.getSnapshotLinks() +
+                    ", записей журнала: " + repository.getRecoveredRecords() + ")");
+            return repository;
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening write-ahead log", e);
+        }
+    }
+
+    private static OffHeapLinkRepository createOffHeap(AppConfiguration config) {
+        try {
+            OffHeapLinkRepository repository = new OffHeapLinkRepository(
+                    Path.of(config.getOffHeapDirectory()), config.getOffHeapCapacity());
+            if (repository.getRepairedSlots() > 0) {
+                System.out.println("[Off-heap] Восстановлено слотов после сбоя: " + repository.getRepairedSlots());
+            }
+            System.out.println("[Off-heap] Загружено ссылок: " + repository.count() +
+                    " (ёмкость: " + repository.getCapacity() + ")");
+            return repository;
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening off-heap link store", e);
+        }
+    }
+}
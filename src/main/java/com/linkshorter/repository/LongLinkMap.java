@@ -0,0 +1,221 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent open-addressing map from packed short codes to links
+ * <p>
+ * Keys are non-zero longs (see {@link com.linkshorter.util.Base62#pack}) stored in a primitive
+ * array next to the value array, so an entry costs two array slots instead of a String key and
+ * a map node. The map is split into segments: writers lock a segment, readers never lock.
+ * <p>
+ * A removed entry keeps its key with a null value, so probe chains stay intact for concurrent
+ * readers; a segment rebuilds its table (dropping those entries) when it fills up. Each key
+ * occupies at most one slot, and a value is published before its key.
+ */
+final class LongLinkMap {
+    private static final long EMPTY = 0L;
+    private static final int SEGMENT_BITS = 6;
+    private static final int MIN_CAPACITY = 16;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Link[].class);
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    LongLinkMap() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    Link get(long key) {
+        long h = hash(key);
+        Table table = segmentFor(h).table;
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+
+        for (int i = (int) h & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            long k = (long) KEYS.getAcquire(keys, i);
+            if (k == key) {
+                return (Link) VALUES.getAcquire(table.values, i);
+            }
+            if (k == EMPTY) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return previous link, or null
+     */
+    Link put(long key, Link link) {
+        return store(key, link, false);
+    }
+
+    /**
+     * @return the existing link if there is one (nothing is stored then), or null
+     */
+    Link putIfAbsent(long key, Link link) {
+        return store(key, link, true);
+    }
+
+    /**
+     * @return removed link, or null
+     */
+    Link remove(long key) {
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        synchronized (segment) {
+            Table table = segment.table;
+            int slot = probe(table, key, h);
+            if (table.keys[slot] != key) {
+                return null;
+            }
+            Link previous = table.values[slot];
+            if (previous != null) {
+                VALUES.setRelease(table.values, slot, null);
+                segment.size--;
+            }
+            return previous;
+        }
+    }
+
+    void forEach(Consumer<Link> action) {
+        for (Segment segment : segments) {
+            Table table = segment.table;
+            for (int i = 0; i < table.keys.length; i++) {
+                Link link = (Link) VALUES.getAcquire(table.values, i);
+                if (link != null) {
+                    action.accept(link);
+                }
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.table = new Table(MIN_CAPACITY);
+                segment.size = 0;
+                segment.occupied = 0;
+            }
+        }
+    }
+
+    private Link store(long key, Link link, boolean onlyIfAbsent) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key cannot be zero");
+        }
+        long h = hash(key);
+        Segment segment = segmentFor(h);
+        synchronized (segment) {
+            Table table = segment.table;
+            int slot = probe(table, key, h);
+
+            if (table.keys[slot] == key) {
+                Link previous = table.values[slot];
+                if (previous != null && onlyIfAbsent) {
+                    return previous;
+                }
+                VALUES.setRelease(table.values, slot, link);
+                if (previous == null) {
+                    segment.size++;
+                }
+                return previous;
+            }
+
+            if ((segment.occupied + 1) * 4L > table.keys.length * 3L) {
+                table = rebuild(segment);
+                slot = probe(table, key, h);
+            }
+            VALUES.setRelease(table.values, slot, link);
+            KEYS.setRelease(table.keys, slot, key);
+            segment.size++;
+            segment.occupied++;
+            return null;
+        }
+    }
+
+    /**
+     * Slot holding the key, or the empty slot where it would go
+     */
+    private static int probe(Table table, long key, long h) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int i = (int) h & mask;
+        while (keys[i] != key && keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Copy live entries into a table sized for twice as many, then publish it
+     */
+    private static Table rebuild(Segment segment) {
+        Table old = segment.table;
+        int capacity = MIN_CAPACITY;
+        while (capacity < (segment.size + 1) * 4) {
+            capacity <<= 1;
+        }
+
+        Table table = new Table(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            Link link = old.values[i];
+            if (link != null) {
+                long key = old.keys[i];
+                int slot = (int) hash(key) & mask;
+                while (table.keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table.keys[slot] = key;
+                table.values[slot] = link;
+            }
+        }
+
+        segment.occupied = segment.size;
+        segment.table = table;
+        return table;
+    }
+
+    private Segment segmentFor(long h) {
+        return segments[(int) (h >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        key = (key ^ (key >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return key ^ (key >>> 33);
+    }
+
+    private static final class Segment {
+        volatile Table table = new Table(MIN_CAPACITY);
+        volatile int size;
+        int occupied;
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final Link[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Link[capacity];
+        }
+    }
+}
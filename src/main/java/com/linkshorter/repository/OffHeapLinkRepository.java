@@ -0,0 +1,925 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.ClickCounter;
+import com.linkshorter.model.ClickResult;
+import com.linkshorter.model.Link;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Link store kept in memory-mapped files instead of the Java heap
+ * <p>
+ * {@code links.idx} is an open-addressing (linear probing) hash table of fixed-size slots keyed
+ * by short code, {@code urls.dat} is an append-only area holding the original URLs. Link objects
+ * are views materialized on lookup; their click counters update the slot in place, so a redirect
+ * allocates no per-link state that outlives the request. The table has a fixed capacity and is
+ * not rehashed; owner lookups scan the whole table. URLs of deleted links are not reclaimed.
+ * <p>
+ * Writers are serialized. Readers take no lock but wait out concurrent writes: each slot carries
+ * a sequence number that is odd while the slot is being written, and a table-wide version, odd
+ * while a delete shifts entries, guards against reading an entry in the middle of a move.
+ * The sequence number and the click count share one 64-bit word, so a click is a single
+ * compare-and-set that fails if the slot was rewritten in the meantime; the counter then looks
+ * its code up again and follows the link to its new slot.
+ * <p>
+ * A process killed mid-write leaves a slot with an odd sequence number. Opening the store repairs
+ * such slots: implausible ones are cleared, and entries left duplicated or unreachable by an
+ * interrupted move are fixed up.
+ */
+public class OffHeapLinkRepository implements LinkRepository {
+    static final int SLOT_SIZE = 80;
+    static final int MAX_CODE_LENGTH = 16;
+
+    // Slot layout
+    private static final int SEQ = 0;
+    private static final int CLICK_COUNT = 4;
+    private static final int CLICK_LIMIT = 8;
+    private static final int STATE = 12;
+    private static final int CODE_LENGTH = 13;
+    private static final int OWNER_MSB = 16;
+    private static final int OWNER_LSB = 24;
+    private static final int CREATED_AT = 32;
+    private static final int EXPIRES_AT = 40;
+    private static final int URL_OFFSET = 48;
+    private static final int URL_LENGTH = 56;
+    private static final int CODE = 64;
+
+    private static final byte EMPTY = 0;
+    private static final byte USED = 1;
+
+    private static final int MAX_SLOTS_PER_CHUNK = 1 << 20;
+    private static final double MAX_LOAD = 0.75;
+
+    private static final int URL_CHUNK_SHIFT = 26;
+    private static final int URL_CHUNK_SIZE = 1 << URL_CHUNK_SHIFT;
+    private static final int URL_HEADER_SIZE = 64;
+    private static final int URL_MAGIC = 0x4C55524C; // "LURL"
+    private static final int URL_TAIL = 8;
+
+    // SEQ and CLICK_COUNT are accessed together as one word at SEQ
+    private static final VarHandle WORD = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    private static final Comparator<Link> BY_SHORT_CODE = Comparator.comparing(Link::getShortCode);
+
+    private final FileChannel indexChannel;
+    private final FileChannel urlChannel;
+    private final MappedByteBuffer[] slotChunks;
+    private final int capacity;
+    private final int mask;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final int maxSize;
+
+    private volatile MappedByteBuffer[] urlChunks;
+    private volatile int structureVersion;
+    private volatile int size;
+    private volatile int expiryCursor;
+    private long urlTail;
+    private final int repairedSlots;
+
+    /**
+     * Open (or create) a store in the given directory.
+     * An existing store keeps its capacity; new stores round the capacity up to a power of two.
+     */
+    public OffHeapLinkRepository(Path directory, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        Files.createDirectories(directory);
+
+        indexChannel = FileChannel.open(directory.resolve("links.idx"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existing = indexChannel.size();
+        int slots = existing > 0
+                ? (int) (existing / SLOT_SIZE)
+                : Math.max(16, Integer.highestOneBit(capacity - 1) << 1);
+        if (Integer.bitCount(slots) != 1) {
+            throw new IOException("Corrupt index file: " + directory.resolve("links.idx"));
+        }
+
+        this.capacity = slots;
+        this.mask = slots - 1;
+        int slotsPerChunk = Math.min(slots, MAX_SLOTS_PER_CHUNK);
+        this.chunkShift = Integer.numberOfTrailingZeros(slotsPerChunk);
+        this.chunkMask = slotsPerChunk - 1;
+        this.maxSize = (int) (slots * MAX_LOAD);
+
+        slotChunks = new MappedByteBuffer[slots / slotsPerChunk];
+        for (int i = 0; i < slotChunks.length; i++) {
+            slotChunks[i] = map(indexChannel, (long) i * slotsPerChunk * SLOT_SIZE, slotsPerChunk * SLOT_SIZE);
+        }
+
+        urlChannel = FileChannel.open(directory.resolve("urls.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        urlChunks = new MappedByteBuffer[]{map(urlChannel, 0, URL_CHUNK_SIZE)};
+        ByteBuffer header = urlChunks[0];
+        if (header.getInt(0) != URL_MAGIC) {
+            header.putInt(0, URL_MAGIC);
+            header.putLong(URL_TAIL, URL_HEADER_SIZE);
+        }
+        urlTail = header.getLong(URL_TAIL);
+        ensureUrlChunk((int) (urlTail >>> URL_CHUNK_SHIFT));
+
+        repairedSlots = repairTornSlots();
+        int used = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (chunkOf(slot).get(offsetOf(slot) + STATE) == USED) {
+                used++;
+            }
+        }
+        size = used;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of slots found half-written when the store was opened
+     */
+    public int getRepairedSlots() {
+        return repairedSlots;
+    }
+
+    @Override
+    public synchronized void save(Link link) {
+        if (link == null) {
+            throw new IllegalArgumentException("Link cannot be null");
+        }
+        String shortCode = link.getShortCode();
+        if (!isStorable(shortCode)) {
+            throw new IllegalArgumentException("Short code must be ASCII and at most "
+                    + MAX_CODE_LENGTH + " characters: " + shortCode);
+        }
+
+        int slot = findSlot(shortCode);
+        long urlOffset;
+        byte[] url = link.getOriginalUrl().getBytes(StandardCharsets.UTF_8);
+
+        if (slot >= 0) {
+            ByteBuffer chunk = chunkOf(slot);
+            int base = offsetOf(slot);
+            urlOffset = sameUrl(chunk, base, url) ? chunk.getLong(base + URL_OFFSET) : appendUrl(url);
+        } else {
+            if (size >= maxSize) {
+                throw new IllegalStateException("Off-heap link store is full (capacity " + capacity + ")");
+            }
+            slot = hash(shortCode) & mask;
+            while (chunkOf(slot).get(offsetOf(slot) + STATE) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            urlOffset = appendUrl(url);
+            size++;
+        }
+
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        int seq = beginWrite(chunk, base);
+        chunk.putInt(base + CLICK_LIMIT, link.getClickLimit());
+        chunk.put(base + CODE_LENGTH, (byte) shortCode.length());
+        UUID ownerId = link.getOwnerId();
+        chunk.putLong(base + OWNER_MSB, ownerId.getMostSignificantBits());
+        chunk.putLong(base + OWNER_LSB, ownerId.getLeastSignificantBits());
+        chunk.putLong(base + CREATED_AT, link.getCreatedAt().toEpochMilli());
+        chunk.putLong(base + EXPIRES_AT, link.getExpiresAtMillis());
+        chunk.putLong(base + URL_OFFSET, urlOffset);
+        chunk.putInt(base + URL_LENGTH, url.length);
+        for (int i = 0; i < shortCode.length(); i++) {
+            chunk.put(base + CODE + i, (byte) shortCode.charAt(i));
+        }
+        setClickCount(chunk, base, seq, link.getClickCount());
+        // Marked used last, so a write cut short leaves a new slot empty
+        chunk.put(base + STATE, USED);
+        endWrite(chunk, base, seq, link.getClickCount());
+    }
+
+    @Override
+    public synchronized boolean saveIfAbsent(Link link) {
+        if (link == null) {
+            throw new IllegalArgumentException("Link cannot be null");
+        }
+        if (findSlot(link.getShortCode()) >= 0) {
+            return false;
+        }
+        save(link);
+        return true;
+    }
+
+    @Override
+    public Optional<Link> findByShortCode(String shortCode) {
+        return Optional.ofNullable(locate(shortCode));
+    }
+
+    @Override
+    public Link findByShortCodeOrNull(String shortCode) {
+        return locate(shortCode);
+    }
+
+    @Override
+    public List<Link> findByOwnerId(UUID ownerId) {
+        long msb = ownerId.getMostSignificantBits();
+        long lsb = ownerId.getLeastSignificantBits();
+        List<Link> result = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isOwnedBy(chunkOf(slot), offsetOf(slot), msb, lsb)) {
+                Link link = readLink(slot, null);
+                if (link != null && link.isOwnedBy(ownerId)) {
+                    result.add(link);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * There is no owner index: every page is a full pass over the table, comparing owners and
+     * codes in place and materializing only the limit + 1 smallest codes after the cursor.
+     * To walk all of a user's links use {@link #streamByOwnerId}, which makes a single pass.
+     */
+    @Override
+    public LinkPage findByOwnerId(UUID ownerId, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        long msb = ownerId.getMostSignificantBits();
+        long lsb = ownerId.getLeastSignificantBits();
+        // Largest code on top, so it is the one dropped once the page is over full
+        PriorityQueue<Link> smallest = new PriorityQueue<>(BY_SHORT_CODE.reversed());
+        for (int slot = 0; slot < capacity; slot++) {
+            ByteBuffer chunk = chunkOf(slot);
+            int base = offsetOf(slot);
+            if (!isOwnedBy(chunk, base, msb, lsb)) {
+                continue;
+            }
+            String shortCode = readCode(chunk, base);
+            if ((cursor != null && shortCode.compareTo(cursor) <= 0)
+                    || (smallest.size() > limit && shortCode.compareTo(smallest.peek().getShortCode()) >= 0)) {
+                continue;
+            }
+            Link link = readLink(slot, shortCode);
+            if (link != null && link.isOwnedBy(ownerId)) {
+                smallest.add(link);
+                if (smallest.size() > limit + 1) {
+                    smallest.poll();
+                }
+            }
+        }
+
+        List<Link> sorted = new ArrayList<>(smallest);
+        sorted.sort(BY_SHORT_CODE);
+        if (sorted.size() <= limit) {
+            return new LinkPage(sorted, null);
+        }
+        List<Link> links = sorted.subList(0, limit);
+        return new LinkPage(links, links.get(limit - 1).getShortCode());
+    }
+
+    /**
+     * One pass over the table instead of one per page; the user's links are collected and
+     * sorted before streaming
+     */
+    @Override
+    public Stream<Link> streamByOwnerId(UUID ownerId) {
+        List<Link> links = findByOwnerId(ownerId);
+        links.sort(BY_SHORT_CODE);
+        return links.stream();
+    }
+
+    private static boolean isOwnedBy(ByteBuffer chunk, int base, long msb, long lsb) {
+        return chunk.get(base + STATE) == USED
+                && chunk.getLong(base + OWNER_MSB) == msb
+                && chunk.getLong(base + OWNER_LSB) == lsb;
+    }
+
+    /**
+     * Delete with backward shift, so probe chains never contain holes or tombstones
+     */
+    @Override
+    public synchronized boolean delete(String shortCode) {
+        int slot = findSlot(shortCode);
+        if (slot < 0) {
+            return false;
+        }
+
+        structureVersion++; // odd: entries may move
+        try {
+            int hole = slot;
+            clearSlot(hole);
+            int next = hole;
+            while (true) {
+                next = (next + 1) & mask;
+                ByteBuffer chunk = chunkOf(next);
+                int base = offsetOf(next);
+                if (chunk.get(base + STATE) == EMPTY) {
+                    break;
+                }
+                int home = hashBytes(chunk, base) & mask;
+                boolean stays = hole <= next
+                        ? hole < home && home <= next
+                        : hole < home || home <= next;
+                if (!stays) {
+                    moveSlot(next, hole);
+                    hole = next;
+                }
+            }
+            size--;
+        } finally {
+            structureVersion++;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean exists(String shortCode) {
+        return locate(shortCode) != null;
+    }
+
+    @Override
+    public void scan(Consumer<Link> action) {
+        for (int slot = 0; slot < capacity; slot++) {
+            if (chunkOf(slot).get(offsetOf(slot) + STATE) == USED) {
+                Link link = readLink(slot, null);
+                if (link != null) {
+                    action.accept(link);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares expiry times in place and only materializes the links that are due
+     * <p>
+     * Each call resumes where the previous one stopped, so the batches of one cleanup cycle
+     * together make a single pass over the table instead of a full scan each.
+     */
+    @Override
+    public List<Link> findExpired(Instant now, int limit) {
+        long nowMillis = now.toEpochMilli();
+        List<Link> expired = new ArrayList<>();
+        int slot = expiryCursor & mask;
+        for (int scanned = 0; scanned < capacity && expired.size() < limit; scanned++) {
+            ByteBuffer chunk = chunkOf(slot);
+            int base = offsetOf(slot);
+            if (isExpiredAt(chunk, base, nowMillis)) {
+                Link link = readLink(slot, null);
+                if (link != null && link.isExpiredAt(nowMillis)) {
+                    expired.add(link);
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        expiryCursor = slot;
+        return expired;
+    }
+
+    /**
+     * Counts in place without materializing any link
+     */
+    @Override
+    public int countExpired(Instant now) {
+        long nowMillis = now.toEpochMilli();
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isExpiredAt(chunkOf(slot), offsetOf(slot), nowMillis)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isExpiredAt(ByteBuffer chunk, int base, long nowMillis) {
+        return chunk.get(base + STATE) == USED && chunk.getLong(base + EXPIRES_AT) < nowMillis;
+    }
+
+    @Override
+    public int count() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        structureVersion++;
+        try {
+            for (int slot = 0; slot < capacity; slot++) {
+                if (chunkOf(slot).get(offsetOf(slot) + STATE) == USED) {
+                    clearSlot(slot);
+                }
+            }
+            size = 0;
+        } finally {
+            structureVersion++;
+        }
+    }
+
+    /**
+     * Flush mapped pages to disk and release the files
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            for (MappedByteBuffer chunk : slotChunks) {
+                chunk.force();
+            }
+            for (MappedByteBuffer chunk : urlChunks) {
+                chunk.force();
+            }
+            indexChannel.close();
+            urlChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error closing off-heap link store", e);
+        }
+    }
+
+    private Link locate(String shortCode) {
+        if (!isStorable(shortCode)) {
+            return null;
+        }
+        while (true) {
+            int version = structureVersion;
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int slot = findSlot(shortCode);
+            if (slot >= 0) {
+                Link link = readLink(slot, shortCode);
+                if (link != null) {
+                    return link;
+                }
+            }
+            if (structureVersion == version) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Close slots left open by a crash; runs before the store is shared
+     *
+     * @return number of repaired slots
+     */
+    private int repairTornSlots() {
+        int repaired = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            ByteBuffer chunk = chunkOf(slot);
+            int base = offsetOf(slot);
+            long word = (long) WORD.get(chunk, base + SEQ);
+            int seq = seqOf(word);
+            if ((seq & 1) == 0) {
+                continue;
+            }
+            int clickCount = 0;
+            if (chunk.get(base + STATE) == USED && isPlausible(chunk, base)) {
+                clickCount = Math.max(0, Math.min(clickCountOf(word), chunk.getInt(base + CLICK_LIMIT)));
+            } else {
+                chunk.put(base + STATE, EMPTY);
+            }
+            WORD.set(chunk, base + SEQ, word(seq + 1, clickCount));
+            repaired++;
+        }
+
+        if (repaired > 0) {
+            // An interrupted move can leave a link twice or behind an empty slot
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int slot = 0; slot < capacity; slot++) {
+                    if (chunkOf(slot).get(offsetOf(slot) + STATE) != USED) {
+                        continue;
+                    }
+                    String shortCode = readCode(chunkOf(slot), offsetOf(slot));
+                    int found = findSlot(shortCode);
+                    if (found == slot) {
+                        continue;
+                    }
+                    if (found >= 0) {
+                        clearSlot(slot);
+                    } else {
+                        int target = hash(shortCode) & mask;
+                        while (chunkOf(target).get(offsetOf(target) + STATE) != EMPTY) {
+                            target = (target + 1) & mask;
+                        }
+                        moveSlot(slot, target);
+                    }
+                    changed = true;
+                }
+            }
+        }
+        return repaired;
+    }
+
+    private boolean isPlausible(ByteBuffer chunk, int base) {
+        int codeLength = chunk.get(base + CODE_LENGTH);
+        if (codeLength < 1 || codeLength > MAX_CODE_LENGTH || chunk.getInt(base + CLICK_LIMIT) <= 0) {
+            return false;
+        }
+        for (int i = 0; i < codeLength; i++) {
+            if (chunk.get(base + CODE + i) < 0) {
+                return false;
+            }
+        }
+        long urlOffset = chunk.getLong(base + URL_OFFSET);
+        int urlLength = chunk.getInt(base + URL_LENGTH);
+        return urlOffset >= URL_HEADER_SIZE && urlLength >= 0 && urlOffset + urlLength <= urlTail;
+    }
+
+    /**
+     * Probe for a code; -1 when absent. Callers validate the result under the slot sequence.
+     */
+    private int findSlot(String shortCode) {
+        if (!isStorable(shortCode)) {
+            return -1;
+        }
+        int slot = hash(shortCode) & mask;
+        for (int probes = 0; probes < capacity; probes++) {
+            ByteBuffer chunk = chunkOf(slot);
+            int base = offsetOf(slot);
+            if (chunk.get(base + STATE) == EMPTY) {
+                return -1;
+            }
+            if (codeEquals(chunk, base, shortCode)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Consistent read of a slot; null if it no longer holds the expected code
+     */
+    private Link readLink(int slot, String expectedCode) {
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+
+        while (true) {
+            int seq = seqOf((long) WORD.getAcquire(chunk, base + SEQ));
+            if ((seq & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (chunk.get(base + STATE) != USED
+                    || (expectedCode != null && !codeEquals(chunk, base, expectedCode))) {
+                return null;
+            }
+
+            String shortCode = expectedCode != null ? expectedCode : readCode(chunk, base);
+            UUID ownerId = new UUID(chunk.getLong(base + OWNER_MSB), chunk.getLong(base + OWNER_LSB));
+            long createdAt = chunk.getLong(base + CREATED_AT);
+            long expiresAt = chunk.getLong(base + EXPIRES_AT);
+            int clickLimit = chunk.getInt(base + CLICK_LIMIT);
+            long urlOffset = chunk.getLong(base + URL_OFFSET);
+            int urlLength = chunk.getInt(base + URL_LENGTH);
+
+            VarHandle.acquireFence();
+            if (seqOf((long) WORD.getAcquire(chunk, base + SEQ)) != seq) {
+                continue;
+            }
+
+            SlotClickCounter counter = new SlotClickCounter(shortCode, clickLimit, createdAt, expiresAt, urlOffset,
+                    new Position(chunk, base, seq));
+            return new Link.Builder()
+                    .shortCode(shortCode)
+                    .originalUrl(readUrl(urlOffset, urlLength))
+                    .ownerId(ownerId)
+                    .createdAt(Instant.ofEpochMilli(createdAt))
+                    .expiresAtMillis(expiresAt)
+                    .clickLimit(clickLimit)
+                    .clickCounter(counter)
+                    .build();
+        }
+    }
+
+    /**
+     * Current slot of the link a click counter belongs to; null once the code is deleted or saved
+     * again with different data
+     */
+    private Position relocate(SlotClickCounter counter) {
+        while (true) {
+            int version = structureVersion;
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int slot = findSlot(counter.shortCode);
+            if (slot >= 0) {
+                ByteBuffer chunk = chunkOf(slot);
+                int base = offsetOf(slot);
+                int seq = seqOf((long) WORD.getAcquire(chunk, base + SEQ));
+                if ((seq & 1) == 0) {
+                    boolean same = chunk.get(base + STATE) == USED
+                            && codeEquals(chunk, base, counter.shortCode)
+                            && chunk.getInt(base + CLICK_LIMIT) == counter.limit
+                            && chunk.getLong(base + CREATED_AT) == counter.createdAt
+                            && chunk.getLong(base + EXPIRES_AT) == counter.expiresAt
+                            && chunk.getLong(base + URL_OFFSET) == counter.urlOffset;
+                    VarHandle.acquireFence();
+                    if (seqOf((long) WORD.getAcquire(chunk, base + SEQ)) == seq) {
+                        return same ? new Position(chunk, base, seq) : null;
+                    }
+                }
+                continue;
+            }
+            if (structureVersion == version) {
+                return null;
+            }
+        }
+    }
+
+    private void moveSlot(int from, int to) {
+        ByteBuffer source = chunkOf(from);
+        int sourceBase = offsetOf(from);
+        ByteBuffer target = chunkOf(to);
+        int targetBase = offsetOf(to);
+
+        // Opening the source first stops clicks on it, so none is lost after the count is copied
+        int sourceSeq = beginWrite(source, sourceBase);
+        int targetSeq = beginWrite(target, targetBase);
+        for (int i = CLICK_LIMIT; i < SLOT_SIZE; i++) {
+            if (i != STATE) {
+                target.put(targetBase + i, source.get(sourceBase + i));
+            }
+        }
+        int clickCount = clickCountOf(source, sourceBase);
+        setClickCount(target, targetBase, targetSeq, clickCount);
+        target.put(targetBase + STATE, USED);
+        endWrite(target, targetBase, targetSeq, clickCount);
+        source.put(sourceBase + STATE, EMPTY);
+        endWrite(source, sourceBase, sourceSeq, 0);
+    }
+
+    private void clearSlot(int slot) {
+        ByteBuffer chunk = chunkOf(slot);
+        int base = offsetOf(slot);
+        int seq = beginWrite(chunk, base);
+        chunk.put(base + STATE, EMPTY);
+        endWrite(chunk, base, seq, 0);
+    }
+
+    /**
+     * Make the sequence odd; a click racing with this fails its compare-and-set and retries
+     */
+    private static int beginWrite(ByteBuffer chunk, int base) {
+        while (true) {
+            long word = (long) WORD.getVolatile(chunk, base + SEQ);
+            int seq = seqOf(word);
+            if (WORD.compareAndSet(chunk, base + SEQ, word, word(seq + 1, clickCountOf(word)))) {
+                return seq;
+            }
+        }
+    }
+
+    /**
+     * Publish the slot with the given click count; no click can land while the sequence is odd
+     */
+    private static void endWrite(ByteBuffer chunk, int base, int seq, int clickCount) {
+        WORD.setRelease(chunk, base + SEQ, word(seq + 2, clickCount));
+    }
+
+    /**
+     * Store the click count of a slot that is being written
+     */
+    private static void setClickCount(ByteBuffer chunk, int base, int seq, int clickCount) {
+        WORD.setVolatile(chunk, base + SEQ, word(seq + 1, clickCount));
+    }
+
+    private static int clickCountOf(ByteBuffer chunk, int base) {
+        return clickCountOf((long) WORD.getVolatile(chunk, base + SEQ));
+    }
+
+    private static int seqOf(long word) {
+        return LITTLE_ENDIAN ? (int) word : (int) (word >>> 32);
+    }
+
+    private static int clickCountOf(long word) {
+        return LITTLE_ENDIAN ? (int) (word >>> 32) : (int) word;
+    }
+
+    /**
+     * Word with the same byte layout as the int fields at SEQ and CLICK_COUNT
+     */
+    private static long word(int seq, int clickCount) {
+        return LITTLE_ENDIAN
+                ? ((long) clickCount << 32) | (seq & 0xFFFFFFFFL)
+                : ((long) seq << 32) | (clickCount & 0xFFFFFFFFL);
+    }
+
+    private long appendUrl(byte[] url) {
+        if (url.length > URL_CHUNK_SIZE) {
+            throw new IllegalArgumentException("URL is too long");
+        }
+        long offset = urlTail;
+        int chunkIndex = (int) (offset >>> URL_CHUNK_SHIFT);
+        int position = (int) (offset & (URL_CHUNK_SIZE - 1));
+        if (position + url.length > URL_CHUNK_SIZE) {
+            chunkIndex++;
+            position = 0;
+            offset = (long) chunkIndex << URL_CHUNK_SHIFT;
+        }
+
+        ensureUrlChunk(chunkIndex);
+        urlChunks[chunkIndex].put(position, url);
+        urlTail = offset + url.length;
+        urlChunks[0].putLong(URL_TAIL, urlTail);
+        return offset;
+    }
+
+    private String readUrl(long offset, int length) {
+        byte[] bytes = new byte[length];
+        urlChunks[(int) (offset >>> URL_CHUNK_SHIFT)].get((int) (offset & (URL_CHUNK_SIZE - 1)), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean sameUrl(ByteBuffer chunk, int base, byte[] url) {
+        if (chunk.getInt(base + URL_LENGTH) != url.length) {
+            return false;
+        }
+        long offset = chunk.getLong(base + URL_OFFSET);
+        byte[] existing = new byte[url.length];
+        urlChunks[(int) (offset >>> URL_CHUNK_SHIFT)].get((int) (offset & (URL_CHUNK_SIZE - 1)), existing);
+        return Arrays.equals(existing, url);
+    }
+
+    private void ensureUrlChunk(int chunkIndex) {
+        MappedByteBuffer[] chunks = urlChunks;
+        if (chunkIndex < chunks.length) {
+            return;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(chunks, chunkIndex + 1);
+        try {
+            for (int i = chunks.length; i <= chunkIndex; i++) {
+                grown[i] = map(urlChannel, (long) i * URL_CHUNK_SIZE, URL_CHUNK_SIZE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error mapping URL storage", e);
+        }
+        urlChunks = grown;
+    }
+
+    private ByteBuffer chunkOf(int slot) {
+        return slotChunks[slot >>> chunkShift];
+    }
+
+    private int offsetOf(int slot) {
+        return (slot & chunkMask) * SLOT_SIZE;
+    }
+
+    private static boolean codeEquals(ByteBuffer chunk, int base, String shortCode) {
+        int length = shortCode.length();
+        if (chunk.get(base + CODE_LENGTH) != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chunk.get(base + CODE + i) != (byte) shortCode.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readCode(ByteBuffer chunk, int base) {
+        int length = Math.min(chunk.get(base + CODE_LENGTH), MAX_CODE_LENGTH);
+        byte[] bytes = new byte[Math.max(0, length)];
+        chunk.get(base + CODE, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isStorable(String shortCode) {
+        if (shortCode == null || shortCode.isEmpty() || shortCode.length() > MAX_CODE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < shortCode.length(); i++) {
+            if (shortCode.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String shortCode) {
+        return spread(shortCode.hashCode());
+    }
+
+    /**
+     * Same value as {@link #hash(String)} computed from the stored ASCII bytes
+     */
+    private static int hashBytes(ByteBuffer chunk, int base) {
+        int h = 0;
+        int length = chunk.get(base + CODE_LENGTH);
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chunk.get(base + CODE + i);
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, int size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.nativeOrder());
+        return buffer;
+    }
+
+    /**
+     * Slot of a link as seen at a given sequence number
+     */
+    private record Position(ByteBuffer chunk, int base, int seq) {
+    }
+
+    /**
+     * Click counter living in a slot
+     * <p>
+     * When the slot has been rewritten, the counter looks its code up again: a link moved by a
+     * delete keeps counting in its new slot, one that was deleted or saved again stops counting.
+     */
+    private final class SlotClickCounter implements ClickCounter {
+        private final String shortCode;
+        private final int limit;
+        private final long createdAt;
+        private final long expiresAt;
+        private final long urlOffset;
+        private volatile Position position;
+        private volatile int lastCount;
+
+        SlotClickCounter(String shortCode, int limit, long createdAt, long expiresAt, long urlOffset,
+                         Position position) {
+            this.shortCode = shortCode;
+            this.limit = limit;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+            this.urlOffset = urlOffset;
+            this.position = position;
+        }
+
+        @Override
+        public ClickResult acquire() {
+            Position p = position;
+            while (p != null) {
+                long word = (long) WORD.getVolatile(p.chunk(), p.base() + SEQ);
+                if (seqOf(word) != p.seq()) {
+                    p = moved();
+                    continue;
+                }
+                int current = clickCountOf(word);
+                if (current >= limit) {
+                    return ClickResult.REJECTED;
+                }
+                if (WORD.compareAndSet(p.chunk(), p.base() + SEQ, word, word(p.seq(), current + 1))) {
+                    lastCount = current + 1;
+                    return current + 1 == limit ? ClickResult.LIMIT_REACHED : ClickResult.ACCEPTED;
+                }
+            }
+            return ClickResult.REJECTED;
+        }
+
+        @Override
+        public int get() {
+            Position p = position;
+            while (p != null) {
+                long word = (long) WORD.getVolatile(p.chunk(), p.base() + SEQ);
+                if (seqOf(word) == p.seq()) {
+                    lastCount = clickCountOf(word);
+                    return lastCount;
+                }
+                p = moved();
+            }
+            return lastCount;
+        }
+
+        @Override
+        public int limit() {
+            return limit;
+        }
+
+        private Position moved() {
+            Position p = relocate(this);
+            position = p;
+            return p;
+        }
+    }
+}
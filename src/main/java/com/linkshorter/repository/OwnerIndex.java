@@ -0,0 +1,294 @@
+package com.linkshorter.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Compact index of short codes by owner
+ * <p>
+ * Owners are stored as two longs in open-addressing tables split into locked segments, so no
+ * UUID or map node is kept per owner. A typical owner's codes live in a small sorted exact-size
+ * array; owners with many links switch to a TreeSet and back when they shrink. Codes are kept in
+ * order so owners can be paged through with a cursor. Owners without links are removed
+ * (backward-shift deletion keeps probe chains intact).
+ */
+final class OwnerIndex {
+    static final int INLINE_MAX = 8;
+    private static final int SEGMENT_BITS = 6;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+    OwnerIndex() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(MIN_CAPACITY);
+        }
+    }
+
+    void add(UUID owner, String shortCode) {
+        long msb = owner.getMostSignificantBits();
+        long lsb = owner.getLeastSignificantBits();
+        long h = hash(msb, lsb);
+        Segment segment = segmentFor(h);
+
+        synchronized (segment) {
+            int slot = segment.probe(msb, lsb, h);
+            Object codes = segment.values[slot];
+            if (codes == null) {
+                if ((segment.size + 1) * 4L > segment.values.length * 3L) {
+                    segment.resize(segment.values.length * 2);
+                    slot = segment.probe(msb, lsb, h);
+                }
+                segment.msb[slot] = msb;
+                segment.lsb[slot] = lsb;
+                segment.values[slot] = new String[]{shortCode};
+                segment.size++;
+            } else {
+                segment.values[slot] = withCode(codes, shortCode);
+            }
+        }
+    }
+
+    void remove(UUID owner, String shortCode) {
+        long msb = owner.getMostSignificantBits();
+        long lsb = owner.getLeastSignificantBits();
+        long h = hash(msb, lsb);
+        Segment segment = segmentFor(h);
+
+        synchronized (segment) {
+            int slot = segment.probe(msb, lsb, h);
+            Object codes = segment.values[slot];
+            if (codes == null) {
+                return;
+            }
+            Object remaining = withoutCode(codes, shortCode);
+            if (remaining == null) {
+                segment.delete(slot);
+            } else {
+                segment.values[slot] = remaining;
+            }
+        }
+    }
+
+    /**
+     * Copy of the owner's short codes
+     */
+    List<String> get(UUID owner) {
+        long msb = owner.getMostSignificantBits();
+        long lsb = owner.getLeastSignificantBits();
+        long h = hash(msb, lsb);
+        Segment segment = segmentFor(h);
+
+        synchronized (segment) {
+            Object codes = segment.values[segment.probe(msb, lsb, h)];
+            if (codes == null) {
+                return List.of();
+            }
+            if (codes instanceof String[] array) {
+                return List.of(array);
+            }
+            @SuppressWarnings("unchecked")
+            NavigableSet<String> set = (NavigableSet<String>) codes;
+            return new ArrayList<>(set);
+        }
+    }
+
+    /**
+     * Up to limit of the owner's short codes that sort after the given one, in order
+     *
+     * @param after exclusive lower bound, or null to start from the first code
+     */
+    List<String> page(UUID owner, String after, int limit) {
+        long msb = owner.getMostSignificantBits();
+        long lsb = owner.getLeastSignificantBits();
+        long h = hash(msb, lsb);
+        Segment segment = segmentFor(h);
+
+        synchronized (segment) {
+            Object codes = segment.values[segment.probe(msb, lsb, h)];
+            if (codes == null) {
+                return List.of();
+            }
+            if (codes instanceof String[] array) {
+                int from = after == null ? 0 : firstAfter(array, after);
+                int to = (int) Math.min(array.length, (long) from + limit);
+                return from >= to ? List.of() : List.of(Arrays.copyOfRange(array, from, to));
+            }
+            @SuppressWarnings("unchecked")
+            NavigableSet<String> set = (NavigableSet<String>) codes;
+            List<String> page = new ArrayList<>(Math.min(limit, set.size()));
+            for (String code : after == null ? set : set.tailSet(after, false)) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(code);
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Number of owners with at least one link
+     */
+    int owners() {
+        int owners = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                owners += segment.size;
+            }
+        }
+        return owners;
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.reset(MIN_CAPACITY);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object withCode(Object codes, String shortCode) {
+        if (codes instanceof String[] array) {
+            int index = Arrays.binarySearch(array, shortCode);
+            if (index >= 0) {
+                return array;
+            }
+            if (array.length < INLINE_MAX) {
+                int at = -index - 1;
+                String[] grown = new String[array.length + 1];
+                System.arraycopy(array, 0, grown, 0, at);
+                grown[at] = shortCode;
+                System.arraycopy(array, at, grown, at + 1, array.length - at);
+                return grown;
+            }
+            NavigableSet<String> set = new TreeSet<>(Arrays.asList(array));
+            set.add(shortCode);
+            return set;
+        }
+        ((NavigableSet<String>) codes).add(shortCode);
+        return codes;
+    }
+
+    /**
+     * @return remaining codes, or null if none are left
+     */
+    @SuppressWarnings("unchecked")
+    private static Object withoutCode(Object codes, String shortCode) {
+        if (codes instanceof String[] array) {
+            int i = Arrays.binarySearch(array, shortCode);
+            if (i < 0) {
+                return array;
+            }
+            if (array.length == 1) {
+                return null;
+            }
+            String[] shrunk = new String[array.length - 1];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 1, shrunk, i, array.length - i - 1);
+            return shrunk;
+        }
+        NavigableSet<String> set = (NavigableSet<String>) codes;
+        set.remove(shortCode);
+        // Switch back well below the limit, so an owner at the boundary does not flip on every change
+        return set.size() <= INLINE_MAX / 2 ? set.toArray(new String[0]) : set;
+    }
+
+    /**
+     * Index of the first code greater than the given one
+     */
+    private static int firstAfter(String[] sorted, String code) {
+        int index = Arrays.binarySearch(sorted, code);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Segment segmentFor(long h) {
+        return segments[(int) (h >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Open-addressing table; an empty slot has a null value
+     */
+    private static final class Segment {
+        long[] msb;
+        long[] lsb;
+        Object[] values;
+        int size;
+
+        Segment(int capacity) {
+            reset(capacity);
+        }
+
+        void reset(int capacity) {
+            msb = new long[capacity];
+            lsb = new long[capacity];
+            values = new Object[capacity];
+            size = 0;
+        }
+
+        /**
+         * Slot holding the owner, or the empty slot where it would go
+         */
+        int probe(long ownerMsb, long ownerLsb, long h) {
+            int mask = values.length - 1;
+            int i = (int) h & mask;
+            while (values[i] != null && (msb[i] != ownerMsb || lsb[i] != ownerLsb)) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        /**
+         * Empty a slot and shift later entries of the probe chain back into the hole
+         */
+        void delete(int slot) {
+            int mask = values.length - 1;
+            int hole = slot;
+            values[hole] = null;
+            size--;
+
+            for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                int home = (int) hash(msb[next], lsb[next]) & mask;
+                boolean stays = hole <= next
+                        ? hole < home && home <= next
+                        : hole < home || home <= next;
+                if (!stays) {
+                    msb[hole] = msb[next];
+                    lsb[hole] = lsb[next];
+                    values[hole] = values[next];
+                    values[next] = null;
+                    hole = next;
+                }
+            }
+        }
+
+        void resize(int capacity) {
+            long[] oldMsb = msb;
+            long[] oldLsb = lsb;
+            Object[] oldValues = values;
+            int oldSize = size;
+            reset(capacity);
+
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    int slot = probe(oldMsb[i], oldLsb[i], hash(oldMsb[i], oldLsb[i]));
+                    msb[slot] = oldMsb[i];
+                    lsb[slot] = oldLsb[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+            size = oldSize;
+        }
+    }
+}
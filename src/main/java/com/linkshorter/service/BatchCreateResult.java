@@ -0,0 +1,26 @@
+package com.linkshorter.service;
+
+import com.linkshorter.model.Link;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk link creation
+ *
+ * @param created      links created, in the order of the input URLs
+ * @param rejectedUrls URLs that were invalid or got no free short code
+ */
+public record BatchCreateResult(List<Link> created, List<String> rejectedUrls) {
+    public BatchCreateResult {
+        created = List.copyOf(created);
+        rejectedUrls = List.copyOf(rejectedUrls);
+    }
+
+    public int getCreatedCount() {
+        return created.size();
+    }
+
+    public int getRejectedCount() {
+        return rejectedUrls.size();
+    }
+}
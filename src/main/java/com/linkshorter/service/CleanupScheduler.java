@@ -2,60 +2,182 @@ package com.linkshorter.service;
 
 import com.linkshorter.config.AppConfiguration;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Scheduler for automatic cleanup of expired links
+ * <p>
+ * In full mode every cycle removes all expired links in one pass. In incremental mode a cycle
+ * removes them in batches bounded by count and time, pausing between batches so that a large
+ * cohort of expiring links does not hold up redirects.
  */
 public class CleanupScheduler {
+    public static final String MODE_FULL = "full";
+    public static final String MODE_INCREMENTAL = "incremental";
+
     private final LinkService linkService;
-    private final AppConfiguration config;
-    private Timer timer;
+    private final boolean incremental;
+    private final long interval;
+    private final int batchSize;
+    private final long batchBudgetNanos;
+    private final long batchPause;
+    private volatile ScheduledExecutorService executor;
+
+    // Metrics, written by the scheduler thread only
+    private volatile boolean cycleRunning;
+    private volatile long backlog;
+    private volatile long cycleRemoved;
+    private volatile long totalRemoved;
+    private volatile long batchCount;
+    private volatile long maxBatchNanos;
 
     public CleanupScheduler(LinkService linkService, AppConfiguration config) {
+        this(linkService, config.getCleanupMode(), config.getCleanupInterval(),
+                config.getCleanupBatchSize(), config.getCleanupBatchBudget(), config.getCleanupBatchPause());
+    }
+
+    /**
+     * @param batchBudget time budget per batch in milliseconds
+     * @param batchPause  pause between batches in milliseconds
+     */
+    public CleanupScheduler(LinkService linkService, String mode, long interval,
+                            int batchSize, long batchBudget, long batchPause) {
+        if (!MODE_FULL.equals(mode) && !MODE_INCREMENTAL.equals(mode)) {
+            throw new IllegalArgumentException("Unknown cleanup mode: " + mode);
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Cleanup interval must be positive");
+        }
+        if (batchSize <= 0 || batchBudget <= 0 || batchPause < 0) {
+            throw new IllegalArgumentException("Invalid cleanup batch settings");
+        }
         this.linkService = linkService;
-        this.config = config;
+        this.incremental = MODE_INCREMENTAL.equals(mode);
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.batchBudgetNanos = TimeUnit.MILLISECONDS.toNanos(batchBudget);
+        this.batchPause = batchPause;
     }
 
     /**
      * Start the cleanup scheduler
      */
-    public void start() {
-        if (timer != null) {
+    public synchronized void start() {
+        if (executor != null) {
             return; // Already started
         }
 
-        timer = new Timer("LinkCleanupScheduler", true);
-        long interval = config.getCleanupInterval();
-
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    int removed = linkService.cleanupExpiredLinks();
-                    if (removed > 0) {
-                        System.out.println("[Cleanup] Удалено истёкших ссылок: " + removed);
-                    }
-                } catch (Exception e) {
-                    System.err.println("[Cleanup] Ошибка при очистке: " + e.getMessage());
-                }
-            }
-        }, interval, interval);
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "LinkCleanupScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runnable cycle = incremental ? this::startIncrementalCycle : this::runFullCycle;
+        executor.scheduleAtFixedRate(cycle, interval, interval, TimeUnit.MILLISECONDS);
 
         System.out.println("[Cleanup] Планировщик очистки запущен (интервал: " +
-                (interval / 1000 / 60) + " минут)");
+                (interval / 1000 / 60) + " минут, режим: " + (incremental ? MODE_INCREMENTAL : MODE_FULL) + ")");
     }
 
     /**
      * Stop the cleanup scheduler
      */
-    public void stop() {
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
             System.out.println("[Cleanup] Планировщик очистки остановлен");
         }
     }
-}
 
+    /**
+     * Expired links still waiting to be removed by the current cycle
+     */
+    public long getBacklog() {
+        return backlog;
+    }
+
+    public long getTotalRemoved() {
+        return totalRemoved;
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Longest time a single batch (or full pass) took, in nanoseconds
+     */
+    public long getMaxBatchNanos() {
+        return maxBatchNanos;
+    }
+
+    private void runFullCycle() {
+        try {
+            long start = System.nanoTime();
+            int removed = linkService.cleanupExpiredLinks();
+            recordBatch(removed, System.nanoTime() - start);
+            if (removed > 0) {
+                System.out.println("[Cleanup] Удалено истёкших ссылок: " + removed);
+            }
+        } catch (Exception e) {
+            System.err.println("[Cleanup] Ошибка при очистке: " + e.getMessage());
+        }
+    }
+
+    private void startIncrementalCycle() {
+        if (cycleRunning) {
+            return; // Previous cycle is still working through its backlog
+        }
+        try {
+            backlog = linkService.countExpiredLinks();
+            if (backlog == 0) {
+                return;
+            }
+            cycleRunning = true;
+            cycleRemoved = 0;
+            runBatch();
+        } catch (Exception e) {
+            cycleRunning = false;
+            System.err.println("[Cleanup] Ошибка при очистке: " + e.getMessage());
+        }
+    }
+
+    private void runBatch() {
+        try {
+            long start = System.nanoTime();
+            int removed = linkService.cleanupExpiredLinks(batchSize, batchBudgetNanos);
+            recordBatch(removed, System.nanoTime() - start);
+            cycleRemoved += removed;
+            backlog = Math.max(0, backlog - removed);
+
+            ScheduledExecutorService current = executor;
+            if (removed > 0 && current != null) {
+                // Yield to other work, then continue with the next batch
+                current.schedule(this::runBatch, batchPause, TimeUnit.MILLISECONDS);
+                return;
+            }
+        } catch (RejectedExecutionException e) {
+            // Stopped while the cycle was running
+        } catch (Exception e) {
+            System.err.println("[Cleanup] Ошибка при очистке: " + e.getMessage());
+        }
+
+        backlog = 0;
+        cycleRunning = false;
+        if (cycleRemoved > 0) {
+            System.out.println("[Cleanup] Удалено истёкших ссылок: " + cycleRemoved);
+        }
+    }
+
+    private void recordBatch(int removed, long nanos) {
+        totalRemoved += removed;
+        batchCount++;
+        if (nanos > maxBatchNanos) {
+            maxBatchNanos = nanos;
+        }
+    }
+}
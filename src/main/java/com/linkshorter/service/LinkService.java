@@ -1,35 +1,72 @@
 package com.linkshorter.service;
 
 import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.config.ConfigSnapshot;
+import com.linkshorter.model.ClickResult;
 import com.linkshorter.model.Link;
 import com.linkshorter.model.User;
+import com.linkshorter.persistence.LinkExportWriter;
+import com.linkshorter.persistence.LinkImportReader;
+import com.linkshorter.persistence.LinkTextCodec;
+import com.linkshorter.repository.LinkPage;
 import com.linkshorter.repository.LinkRepository;
+import com.linkshorter.util.TimeSource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 /**
  * Main service for managing links
  * Handles creation, retrieval, and deletion of shortened links
  */
 public class LinkService {
+    /**
+     * Number of URLs validated and stored together by createLinks
+     */
+    static final int CREATE_BATCH_SIZE = 1024;
+
     private final LinkRepository repository;
-    private final ShortCodeGenerator codeGenerator;
     private final NotificationService notificationService;
     private final AppConfiguration config;
+    private final ShortCodeAllocator codeAllocator;
+    private final TimeSource timeSource;
 
     public LinkService(LinkRepository repository,
                        ShortCodeGenerator codeGenerator,
                        NotificationService notificationService,
                        AppConfiguration config) {
+        this(repository, codeGenerator, notificationService, config, TimeSource.SYSTEM);
+    }
+
+    /**
+     * @param timeSource clock for creation and expiry checks, e.g. a coarse clock on busy servers
+     */
+    public LinkService(LinkRepository repository,
+                       ShortCodeGenerator codeGenerator,
+                       NotificationService notificationService,
+                       AppConfiguration config,
+                       TimeSource timeSource) {
         this.repository = repository;
-        this.codeGenerator = codeGenerator;
         this.notificationService = notificationService;
         this.config = config;
+        this.timeSource = timeSource;
+        this.codeAllocator = new ShortCodeAllocator(repository, codeGenerator, config.getShortCodeMaxAttempts());
     }
 
     /**
@@ -49,25 +86,27 @@ public class LinkService {
             throw new IllegalArgumentException("Click limit must be positive");
         }
 
-        String shortCode = codeGenerator.generateShortCode(originalUrl, owner.getId());
-        Instant now = Instant.now();
-        Instant expiresAt = now.plusMillis(config.getDefaultTtl());
-
-        Link link = new Link.Builder()
-                .shortCode(shortCode)
-                .originalUrl(originalUrl)
-                .ownerId(owner.getId())
-                .createdAt(now)
-                .expiresAt(expiresAt)
-                .clickLimit(clickLimit)
-                .build();
-
-        repository.save(link);
-
-        long ttlHours = config.getDefaultTtl() / (1000 * 60 * 60);
+        // One consistent view of the settings even if a reload happens meanwhile
+        ConfigSnapshot settings = config.snapshot();
+        long now = timeSource.currentTimeMillis();
+        long expiresAt = now + settings.getDefaultTtl();
+
+        Link link = codeAllocator.allocate(originalUrl, owner.getId(), code -> {
+            Link.Builder builder = new Link.Builder()
+                    .shortCode(code)
+                    .originalUrl(originalUrl)
+                    .ownerId(owner.getId())
+                    .createdAt(Instant.ofEpochMilli(now))
+                    .expiresAtMillis(expiresAt)
+                    .clickLimit(clickLimit);
+            return withClickCounter(builder, clickLimit, settings).build();
+        });
+        String shortCode = link.getShortCode();
+
+        long ttlHours = settings.getDefaultTtl() / (1000 * 60 * 60);
         notificationService.notifyLinkCreated(
                 shortCode,
-                config.getLinkDomain() + "/" + shortCode,
+                settings.getLinkDomain() + "/" + shortCode,
                 clickLimit,
                 ttlHours
         );
@@ -75,49 +114,180 @@ public class LinkService {
         return link;
     }
 
+    /**
+     * Create links with the default click limit for many URLs at once
+     */
+    public BatchCreateResult createLinks(Collection<String> urls, User owner) {
+        return createLinks(urls, owner, config.getDefaultClickLimit());
+    }
+
+    /**
+     * Create links for many URLs at once, e.g. a campaign list
+     * <p>
+     * The URLs are split into batches processed in parallel on the fork-join pool: each batch is
+     * validated, gets its short codes and is stored with one repository call. Invalid URLs are
+     * skipped rather than failing the whole import, and a single summary notification is sent
+     * instead of one per link.
+     */
+    public BatchCreateResult createLinks(Collection<String> urls, User owner, int clickLimit) {
+        if (clickLimit <= 0) {
+            throw new IllegalArgumentException("Click limit must be positive");
+        }
+
+        ConfigSnapshot settings = config.snapshot();
+        Instant createdAt = Instant.ofEpochMilli(timeSource.currentTimeMillis());
+        long expiresAt = createdAt.toEpochMilli() + settings.getDefaultTtl();
+        UUID ownerId = owner.getId();
+        BiFunction<String, String, Link> linkFactory = (url, code) -> {
+            Link.Builder builder = new Link.Builder()
+                    .shortCode(code)
+                    .originalUrl(url)
+                    .ownerId(ownerId)
+                    .createdAt(createdAt)
+                    .expiresAtMillis(expiresAt)
+                    .clickLimit(clickLimit);
+            return withClickCounter(builder, clickLimit, settings).build();
+        };
+
+        String[] input = urls.toArray(new String[0]);
+        int batches = (input.length + CREATE_BATCH_SIZE - 1) / CREATE_BATCH_SIZE;
+        List<List<Link>> created = new ArrayList<>(Collections.nCopies(batches, List.of()));
+        Queue<String> rejected = new ConcurrentLinkedQueue<>();
+        if (batches > 0) {
+            ForkJoinPool.commonPool().invoke(new CreateBatchTask(input, 0, batches, ownerId, linkFactory, created, rejected));
+        }
+
+        List<Link> links = new ArrayList<>(input.length);
+        created.forEach(links::addAll);
+        BatchCreateResult result = new BatchCreateResult(links, new ArrayList<>(rejected));
+
+        notificationService.notifyLinksImported(ownerId, result.getCreatedCount(), result.getRejectedCount(),
+                clickLimit, settings.getDefaultTtl() / (1000 * 60 * 60));
+        return result;
+    }
+
+    /**
+     * Write every link with its click count and expiry to a CSV or NDJSON file
+     * <p>
+     * The store is scanned without copying it and without locks on the redirect path; links
+     * created or clicked during the export may or may not be included in their latest state.
+     *
+     * @return number of links written
+     * @throws IllegalArgumentException if the file extension is not .csv, .ndjson or .jsonl
+     */
+    public long exportLinks(Path file) throws IOException {
+        String format = LinkTextCodec.formatOf(file);
+        try (LinkExportWriter writer = new LinkExportWriter(file, format)) {
+            try {
+                repository.scan(writer::append);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.commit();
+            return writer.getCount();
+        }
+    }
+
+    /**
+     * Load links written by {@link #exportLinks(Path)}, keeping their codes, owners, click counts
+     * and expiry
+     * <p>
+     * The file is read line by line and stored in batches. Codes that are already taken keep
+     * their current link, expired links and malformed lines are skipped.
+     *
+     * @throws IllegalArgumentException if the file extension is not .csv, .ndjson or .jsonl
+     */
+    public RestoreResult restoreLinks(Path file) throws IOException {
+        String format = LinkTextCodec.formatOf(file);
+        long now = timeSource.currentTimeMillis();
+        long restored = 0;
+        long duplicates = 0;
+        long expired = 0;
+        List<Link> batch = new ArrayList<>(CREATE_BATCH_SIZE);
+        try (LinkImportReader reader = new LinkImportReader(file, format)) {
+            Link link;
+            while ((link = reader.next()) != null) {
+                if (link.isExpiredAt(now)) {
+                    expired++;
+                    continue;
+                }
+                batch.add(link);
+                if (batch.size() == CREATE_BATCH_SIZE) {
+                    int taken = repository.saveAllIfAbsent(batch).size();
+                    restored += batch.size() - taken;
+                    duplicates += taken;
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                int taken = repository.saveAllIfAbsent(batch).size();
+                restored += batch.size() - taken;
+                duplicates += taken;
+            }
+            return new RestoreResult(restored, duplicates, expired, reader.getRejected(), reader.getErrors());
+        }
+    }
+
+    /**
+     * Short code allocation metrics
+     */
+    public ShortCodeAllocator getCodeAllocator() {
+        return codeAllocator;
+    }
+
     /**
      * Get original URL and register a click
      */
     public Optional<String> followLink(String shortCode) {
-        Optional<Link> linkOpt = repository.findByShortCode(shortCode);
+        RedirectResult result = redirect(shortCode, new RedirectResult());
+        return result.isRedirect() ? Optional.of(result.getTargetUrl()) : Optional.empty();
+    }
 
-        if (linkOpt.isEmpty()) {
+    /**
+     * Register a click and report where to redirect, writing into a caller-owned holder
+     * <p>
+     * Failures are reported through the outcome as well as notifications, so front ends can
+     * answer each case differently without allocating on the redirect path.
+     *
+     * @return the given result holder
+     */
+    public RedirectResult redirect(String shortCode, RedirectResult result) {
+        Link link = repository.findByShortCodeOrNull(shortCode);
+
+        if (link == null) {
             notificationService.notifyLinkNotFound(shortCode);
-            return Optional.empty();
+            return result.set(RedirectOutcome.NOT_FOUND, null);
         }
 
-        Link link = linkOpt.get();
-
-        // Check if link is expired
-        if (link.isExpired()) {
+        // Check if link is expired; removal is left to cleanup, a durable delete would wait for the disk
+        if (link.isExpiredAt(timeSource.currentTimeMillis())) {
             link.deactivate();
             notificationService.notifyLinkExpired(link);
-            repository.delete(shortCode);
-            return Optional.empty();
+            return result.set(RedirectOutcome.EXPIRED, null);
         }
 
-        // Check if link is active
-        if (!link.isActive()) {
-            notificationService.notifyLinkInactive(link, "Ссылка деактивирована");
-            return Optional.empty();
-        }
+        // Reserve a click: a single atomic decision covers inactive links and the click limit
+        ClickResult click = link.registerClick();
 
-        // Check if click limit reached
-        if (link.hasReachedClickLimit()) {
-            link.deactivate();
-            notificationService.notifyClickLimitReached(link);
-            return Optional.empty();
+        if (click == ClickResult.REJECTED) {
+            if (link.isActive()) {
+                // Limit exhausted by a concurrent click that has not deactivated the link yet
+                notificationService.notifyClickLimitReached(link);
+                return result.set(RedirectOutcome.LIMIT_REACHED, null);
+            }
+            notificationService.notifyLinkInactive(link, "Ссылка деактивирована");
+            return result.set(link.hasReachedClickLimit() ? RedirectOutcome.LIMIT_REACHED : RedirectOutcome.INACTIVE,
+                    null);
         }
 
-        // Increment click count
-        link.incrementClickCount();
+        repository.recordClick(link);
 
         // Check if limit just reached
-        if (link.hasReachedClickLimit()) {
+        if (click == ClickResult.LIMIT_REACHED) {
             notificationService.notifyClickLimitReached(link);
         }
 
-        return Optional.of(link.getOriginalUrl());
+        return result.set(RedirectOutcome.REDIRECT, link.getOriginalUrl());
     }
 
     /**
@@ -134,6 +304,22 @@ public class LinkService {
         return repository.findByOwnerId(user.getId());
     }
 
+    /**
+     * Get one page of a user's links ordered by short code
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    public LinkPage getUserLinks(User user, String cursor, int limit) {
+        return repository.findByOwnerId(user.getId(), cursor, limit);
+    }
+
+    /**
+     * Stream a user's links ordered by short code without loading them all at once
+     */
+    public Stream<Link> streamUserLinks(User user) {
+        return repository.streamByOwnerId(user.getId());
+    }
+
     /**
      * Delete a link (only owner can delete)
      */
@@ -178,14 +364,14 @@ public class LinkService {
         }
 
         // Create updated link
-        Link updatedLink = new Link.Builder()
+        Link.Builder builder = new Link.Builder()
                 .shortCode(link.getShortCode())
                 .originalUrl(link.getOriginalUrl())
                 .ownerId(link.getOwnerId())
                 .createdAt(link.getCreatedAt())
-                .expiresAt(link.getExpiresAt())
-                .clickLimit(newClickLimit)
-                .build();
+                .expiresAtMillis(link.getExpiresAtMillis())
+                .clickLimit(newClickLimit);
+        Link updatedLink = withClickCounter(builder, newClickLimit, config.snapshot()).build();
 
         repository.save(updatedLink);
         return true;
@@ -195,12 +381,11 @@ public class LinkService {
      * Clean up expired links
      */
     public int cleanupExpiredLinks() {
-        List<Link> allLinks = repository.findAll();
+        List<Link> expiredLinks = repository.findExpired(now(), Integer.MAX_VALUE);
         int removedCount = 0;
 
-        for (Link link : allLinks) {
-            if (link.isExpired()) {
-                repository.delete(link.getShortCode());
+        for (Link link : expiredLinks) {
+            if (repository.delete(link.getShortCode())) {
                 removedCount++;
             }
         }
@@ -208,6 +393,118 @@ public class LinkService {
         return removedCount;
     }
 
+    /**
+     * Clean up at most maxLinks expired links, stopping early once the time budget is spent
+     *
+     * @return number of removed links
+     */
+    public int cleanupExpiredLinks(int maxLinks, long timeBudgetNanos) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        List<Link> expiredLinks = repository.findExpired(now(), maxLinks);
+        int removedCount = 0;
+
+        for (Link link : expiredLinks) {
+            if (repository.delete(link.getShortCode())) {
+                removedCount++;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+
+        return removedCount;
+    }
+
+    /**
+     * Number of expired links waiting for cleanup
+     */
+    public int countExpiredLinks() {
+        return repository.countExpired(now());
+    }
+
+    /**
+     * Whether a link has expired by the service clock
+     */
+    public boolean isExpired(Link link) {
+        return link.isExpiredAt(timeSource.currentTimeMillis());
+    }
+
+    private Instant now() {
+        return Instant.ofEpochMilli(timeSource.currentTimeMillis());
+    }
+
+    /**
+     * Splits a range of batches in half until one batch is left, then creates its links
+     */
+    private final class CreateBatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] urls;
+        private final int fromBatch;
+        private final int toBatch;
+        private final UUID ownerId;
+        private final BiFunction<String, String, Link> linkFactory;
+        private final List<List<Link>> created;
+        private final Queue<String> rejected;
+
+        CreateBatchTask(String[] urls, int fromBatch, int toBatch, UUID ownerId,
+                        BiFunction<String, String, Link> linkFactory, List<List<Link>> created, Queue<String> rejected) {
+            this.urls = urls;
+            this.fromBatch = fromBatch;
+            this.toBatch = toBatch;
+            this.ownerId = ownerId;
+            this.linkFactory = linkFactory;
+            this.created = created;
+            this.rejected = rejected;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBatch - fromBatch > 1) {
+                int middle = (fromBatch + toBatch) >>> 1;
+                invokeAll(new CreateBatchTask(urls, fromBatch, middle, ownerId, linkFactory, created, rejected),
+                        new CreateBatchTask(urls, middle, toBatch, ownerId, linkFactory, created, rejected));
+                return;
+            }
+
+            int from = fromBatch * CREATE_BATCH_SIZE;
+            int to = Math.min(from + CREATE_BATCH_SIZE, urls.length);
+            List<String> valid = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                try {
+                    validateUrl(urls[i]);
+                    valid.add(urls[i]);
+                } catch (IllegalArgumentException e) {
+                    rejected.add(String.valueOf(urls[i]));
+                }
+            }
+
+            // Matched by position, so a URL given twice is reported once per failed copy
+            List<Link> allocated = codeAllocator.allocateAll(valid, ownerId, linkFactory);
+            List<Link> links = new ArrayList<>(allocated.size());
+            for (int i = 0; i < allocated.size(); i++) {
+                Link link = allocated.get(i);
+                if (link != null) {
+                    links.add(link);
+                } else {
+                    rejected.add(valid.get(i));
+                }
+            }
+            // Each batch owns its slot, so the parallel writes do not interfere
+            created.set(fromBatch, links);
+        }
+    }
+
+    /**
+     * High-volume links count clicks in stripes to avoid a single contended counter
+     */
+    private Link.Builder withClickCounter(Link.Builder builder, int clickLimit, ConfigSnapshot settings) {
+        if (clickLimit >= settings.getStripedCounterMinLimit()) {
+            builder.stripedCounter(settings.getStripedCounterExactThreshold());
+        }
+        return builder;
+    }
+
     private void validateUrl(String url) {
         if (url == null || url.isBlank()) {
             throw new IllegalArgumentException("URL cannot be null or empty");
@@ -1,98 +1,172 @@
 package com.linkshorter.service;
 
+import com.linkshorter.config.AppConfiguration;
 import com.linkshorter.model.Link;
-
+import com.linkshorter.notification.ConsoleNotificationSink;
+import com.linkshorter.notification.NotificationDispatcher;
+import com.linkshorter.notification.NotificationEvent;
+import com.linkshorter.notification.NotificationSink;
+import com.linkshorter.notification.NotificationSinkFactory;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service for sending notifications to users
+ * <p>
+ * Callers only capture a {@link NotificationEvent} and publish it to one
+ * {@link NotificationDispatcher} per sink: a bounded lock-free ring buffer drained in batches by
+ * the sink's own thread, so request threads never wait for console, file or socket I/O.
  */
-public class NotificationService {
+public class NotificationService implements AutoCloseable {
+    private static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final List<NotificationDispatcher> dispatchers;
     private final boolean enabled;
+    private final LongAdder published = new LongAdder();
 
+    /**
+     * Console notifications with default buffering, or none at all
+     */
     public NotificationService(boolean enabled) {
-        this.enabled = enabled;
+        this(enabled ? List.of(new ConsoleNotificationSink()) : List.of(),
+                DEFAULT_QUEUE_CAPACITY, NotificationDispatcher.POLICY_DROP, DEFAULT_BATCH_SIZE);
     }
 
-    public void notifyLinkExpired(Link link) {
-        if (!enabled) {
-            return;
+    public NotificationService(AppConfiguration config) {
+        this(config.isNotificationsEnabled() ? NotificationSinkFactory.create(config) : List.of(),
+                config.getNotificationQueueCapacity(), config.getNotificationOverflowPolicy(),
+                config.getNotificationBatchSize());
+    }
+
+    /**
+     * @param sinks          destinations, each fed by its own dispatcher; empty disables notifications
+     * @param queueCapacity  number of events buffered per sink
+     * @param overflowPolicy drop or block when a sink's buffer is full
+     * @param batchSize      maximum number of events handed to a sink at once
+     */
+    public NotificationService(List<NotificationSink> sinks, int queueCapacity, String overflowPolicy, int batchSize) {
+        List<NotificationDispatcher> created = new ArrayList<>(sinks.size());
+        for (NotificationSink sink : sinks) {
+            created.add(new NotificationDispatcher(sink, queueCapacity, overflowPolicy, batchSize));
         }
+        this.dispatchers = List.copyOf(created);
+        this.enabled = !dispatchers.isEmpty();
+    }
 
-        System.out.println("\n╔══════════════════════════════════════════════════════════╗");
-        System.out.println("║                    УВЕДОМЛЕНИЕ                           ║");
-        System.out.println("╠══════════════════════════════════════════════════════════╣");
-        System.out.println("║  Ссылка истекла по времени жизни (TTL)                  ║");
-        System.out.println("║  Короткий код: " + String.format("%-39s", link.getShortCode()) + "║");
-        System.out.println("║  Исходный URL: " + truncate(link.getOriginalUrl(), 38) + " ║");
-        System.out.println("║                                                          ║");
-        System.out.println("║  Создайте новую ссылку, если хотите продолжить           ║");
-        System.out.println("║  использование данного URL.                              ║");
-        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
+    public void notifyLinkExpired(Link link) {
+        if (enabled) {
+            publish(NotificationEvent.linkExpired(link));
+        }
     }
 
     public void notifyClickLimitReached(Link link) {
-        if (!enabled) {
-            return;
+        if (enabled) {
+            publish(NotificationEvent.clickLimitReached(link));
         }
-
-        System.out.println("\n╔══════════════════════════════════════════════════════════╗");
-        System.out.println("║                    УВЕДОМЛЕНИЕ                           ║");
-        System.out.println("╠══════════════════════════════════════════════════════════╣");
-        System.out.println("║  Достигнут лимит переходов по ссылке                     ║");
-        System.out.println("║  Короткий код: " + String.format("%-39s", link.getShortCode()) + "║");
-        System.out.println("║  Исходный URL: " + truncate(link.getOriginalUrl(), 38) + " ║");
-        System.out.println("║  Количество переходов: " + String.format("%-33s", link.getClickCount() + "/" + link.getClickLimit()) + "║");
-        System.out.println("║                                                          ║");
-        System.out.println("║  Создайте новую ссылку, если хотите продолжить           ║");
-        System.out.println("║  использование данного URL.                              ║");
-        System.out.println("╚══════════════════════════════════════════════════════════╝\n");
     }
 
     public void notifyLinkCreated(String shortCode, String fullShortUrl, int clickLimit, long ttlHours) {
-        if (!enabled) {
-            return;
+        if (enabled) {
+            publish(NotificationEvent.linkCreated(shortCode, fullShortUrl, clickLimit, ttlHours));
         }
+    }
 
-        System.out.println("\n✓ Короткая ссылка успешно создана!");
-        System.out.println("  Короткий код: " + shortCode);
-        System.out.println("  Полная короткая ссылка: " + fullShortUrl);
-        System.out.println("  Лимит переходов: " + clickLimit);
-        System.out.println("  Время жизни: " + ttlHours + " часов");
+    /**
+     * One summary for a bulk import instead of a notification per link
+     */
+    public void notifyLinksImported(UUID userId, int created, int rejected, int clickLimit, long ttlHours) {
+        if (enabled) {
+            publish(NotificationEvent.linksImported(userId, created, rejected, clickLimit, ttlHours));
+        }
     }
 
     public void notifyLinkNotFound(String shortCode) {
-        if (!enabled) {
-            return;
+        if (enabled) {
+            publish(NotificationEvent.linkNotFound(shortCode));
         }
-
-        System.out.println("\n✗ Ошибка: Ссылка с кодом '" + shortCode + "' не найдена.");
     }
 
     public void notifyLinkInactive(Link link, String reason) {
-        if (!enabled) {
-            return;
+        if (enabled) {
+            publish(NotificationEvent.linkInactive(link, reason));
         }
-
-        System.out.println("\n✗ Ссылка недоступна: " + reason);
-        System.out.println("  Короткий код: " + link.getShortCode());
-        System.out.println("  Создайте новую ссылку для продолжения работы.");
     }
 
     public void notifyAccessDenied(String shortCode, UUID userId) {
-        if (!enabled) {
-            return;
+        if (enabled) {
+            publish(NotificationEvent.accessDenied(shortCode, userId));
+        }
+    }
+
+    /**
+     * Wait until every sink has been handed the events published so far
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (NotificationDispatcher dispatcher : dispatchers) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (!dispatcher.flush(Math.max(remaining, 0))) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    /**
+     * Stop the dispatchers after writing the events already queued, then close the sinks
+     */
+    @Override
+    public void close() {
+        dispatchers.forEach(NotificationDispatcher::close);
+    }
+
+    /**
+     * Per-sink metrics: throughput, queue depth, drops and failures
+     */
+    public List<NotificationDispatcher> getDispatchers() {
+        return dispatchers;
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
 
-        System.out.println("\n✗ Доступ запрещён: Вы не являетесь владельцем ссылки '" + shortCode + "'");
-        System.out.println("  Только владелец может редактировать или удалять свои ссылки.");
+    /**
+     * Events discarded because a sink's buffer was full, summed over sinks
+     */
+    public long getDropped() {
+        return dispatchers.stream().mapToLong(NotificationDispatcher::getDropped).sum();
     }
 
-    private String truncate(String text, int maxLength) {
-        if (text.length() <= maxLength) {
-            return String.format("%-" + maxLength + "s", text);
+    /**
+     * Events written, summed over sinks
+     */
+    public long getDelivered() {
+        return dispatchers.stream().mapToLong(NotificationDispatcher::getDelivered).sum();
+    }
+
+    public long getBatches() {
+        return dispatchers.stream().mapToLong(NotificationDispatcher::getBatches).sum();
+    }
+
+    /**
+     * Depth of the fullest sink buffer
+     */
+    public int getQueueDepth() {
+        return dispatchers.stream().mapToInt(NotificationDispatcher::getQueueDepth).max().orElse(0);
+    }
+
+    private void publish(NotificationEvent event) {
+        published.increment();
+        for (NotificationDispatcher dispatcher : dispatchers) {
+            dispatcher.publish(event);
         }
-        return text.substring(0, maxLength - 3) + "...";
     }
 }
-
@@ -0,0 +1,31 @@
+package com.linkshorter.service;
+
+/**
+ * Result of following a short link
+ */
+public enum RedirectOutcome {
+    /**
+     * Click counted, the caller should redirect to the target URL
+     */
+    REDIRECT,
+
+    /**
+     * No link with this short code
+     */
+    NOT_FOUND,
+
+    /**
+     * The link's time to live has passed; it has been removed
+     */
+    EXPIRED,
+
+    /**
+     * The link was deactivated earlier
+     */
+    INACTIVE,
+
+    /**
+     * The click limit is exhausted
+     */
+    LIMIT_REACHED
+}
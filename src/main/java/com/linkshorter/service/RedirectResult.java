@@ -0,0 +1,38 @@
+package com.linkshorter.service;
+
+/**
+ * Reusable holder for the result of {@link LinkService#redirect(String, RedirectResult)}
+ * <p>
+ * A caller keeps one per thread or connection and passes it to every redirect, so following a
+ * link does not allocate a result object. Not thread-safe.
+ */
+public final class RedirectResult {
+    private RedirectOutcome outcome = RedirectOutcome.NOT_FOUND;
+    private String targetUrl;
+
+    public RedirectOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * URL to redirect to, or null unless the outcome is {@link RedirectOutcome#REDIRECT}
+     */
+    public String getTargetUrl() {
+        return targetUrl;
+    }
+
+    public boolean isRedirect() {
+        return outcome == RedirectOutcome.REDIRECT;
+    }
+
+    RedirectResult set(RedirectOutcome outcome, String targetUrl) {
+        this.outcome = outcome;
+        this.targetUrl = targetUrl;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "RedirectResult{outcome=" + outcome + ", targetUrl='" + targetUrl + "'}";
+    }
+}
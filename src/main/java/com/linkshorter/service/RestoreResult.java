@@ -0,0 +1,18 @@
+package com.linkshorter.service;
+
+import java.util.List;
+
+/**
+ * Outcome of restoring links from an export file
+ *
+ * @param restored   links stored
+ * @param duplicates links skipped because their short code is already taken
+ * @param expired    links skipped because they have already expired
+ * @param rejected   lines that could not be parsed
+ * @param errors     the first few parse errors as "line N: message"
+ */
+public record RestoreResult(long restored, long duplicates, long expired, long rejected, List<String> errors) {
+    public RestoreResult {
+        errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,127 @@
+package com.linkshorter.service;
+
+import com.linkshorter.util.Base62;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates short codes from a global sequence instead of hashing the URL
+ * <p>
+ * Threads take IDs from the sequence in blocks, so the shared counter is touched once per
+ * block. Each ID is scrambled by a keyed Feistel permutation over [0, 62^length), which is a
+ * bijection: distinct IDs always give distinct codes, but consecutive IDs do not give
+ * guessable codes. The sequence starts at a random offset, and a collision (e.g. with codes
+ * issued before a restart) moves the thread to a fresh random block.
+ */
+public class SequenceShortCodeGenerator extends ShortCodeGenerator {
+    static final int MAX_CODE_LENGTH = Base62.MAX_PACKED_LENGTH; // 62^10 still fits in a long
+    private static final int ROUNDS = 4;
+
+    private final long domain;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+    private final int blockSize;
+    private final AtomicLong sequence;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Block> blocks;
+
+    public SequenceShortCodeGenerator(int codeLength, int blockSize) {
+        super(codeLength);
+        if (codeLength > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("Sequence codes support at most " + MAX_CODE_LENGTH + " characters");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+
+        long size = 1;
+        for (int i = 0; i < codeLength; i++) {
+            size *= Base62.RADIX;
+        }
+        this.domain = size;
+        // Smallest even bit width covering the domain, so cycle walking needs < 4 steps on average
+        int bits = 64 - Long.numberOfLeadingZeros(domain - 1);
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        for (int i = 0; i < ROUNDS; i++) {
+            roundKeys[i] = random.nextLong();
+        }
+        this.blockSize = blockSize;
+        this.sequence = new AtomicLong(randomOffset());
+        this.blocks = ThreadLocal.withInitial(() -> new Block(codeLength));
+    }
+
+    /**
+     * The URL and user do not influence the code; a retry after a collision jumps to a new block
+     */
+    @Override
+    public String generateShortCode(String originalUrl, UUID userId, int attempt) {
+        if (originalUrl == null || originalUrl.isBlank()) {
+            throw new IllegalArgumentException("URL cannot be null or empty");
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+
+        Block block = blocks.get();
+        if (attempt > 0) {
+            // The current region of the sequence is taken: continue somewhere else
+            sequence.set(randomOffset());
+            block.next = block.end;
+        }
+        if (block.next == block.end) {
+            block.next = sequence.getAndAdd(blockSize);
+            block.end = block.next + blockSize;
+        }
+
+        Base62.encode(permute(Math.floorMod(block.next++, domain)), block.buffer);
+        return new String(block.buffer);
+    }
+
+    /**
+     * Keyed bijection on [0, domain): Feistel rounds on a power-of-two range with cycle walking
+     */
+    long permute(long value) {
+        do {
+            value = feistel(value);
+        } while (value >= domain);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int i = 0; i < ROUNDS; i++) {
+            long mixed = left ^ (mix(right ^ roundKeys[i]) & halfMask);
+            left = right;
+            right = mixed;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private long randomOffset() {
+        return Math.floorMod(random.nextLong(), domain);
+    }
+
+    /**
+     * Per-thread range of the sequence and encoding buffer
+     */
+    private static final class Block {
+        final char[] buffer;
+        long next;
+        long end;
+
+        Block(int codeLength) {
+            this.buffer = new char[codeLength];
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.linkshorter.service;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.repository.LinkRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Allocates unique short codes for new links
+ * <p>
+ * A code is reserved by an atomic save-if-absent in the repository, so a link never replaces
+ * another one. On a collision the code is regenerated with a salted input. The collision metrics
+ * show when the code space gets crowded and link.code.length should be increased.
+ */
+public class ShortCodeAllocator {
+    private final LinkRepository repository;
+    private final ShortCodeGenerator codeGenerator;
+    private final int maxAttempts;
+
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAccumulator maxRetries = new LongAccumulator(Math::max, 0);
+
+    public ShortCodeAllocator(LinkRepository repository, ShortCodeGenerator codeGenerator, int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        this.repository = repository;
+        this.codeGenerator = codeGenerator;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Build a link for a free short code and store it
+     *
+     * @param linkFactory builds the link for a candidate short code
+     * @throws IllegalStateException if every attempt collided
+     */
+    public Link allocate(String originalUrl, UUID ownerId, Function<String, Link> linkFactory) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            String shortCode = codeGenerator.generateShortCode(originalUrl, ownerId, attempt);
+            Link link = linkFactory.apply(shortCode);
+            if (repository.saveIfAbsent(link)) {
+                allocations.increment();
+                maxRetries.accumulate(attempt);
+                return link;
+            }
+            collisions.increment();
+        }
+
+        failures.increment();
+        throw new IllegalStateException("Unable to allocate a unique short code after " + maxAttempts + " attempts");
+    }
+
+    /**
+     * Allocate codes for a batch of links, storing them with one repository call
+     * <p>
+     * Every link first gets its unsalted code; the few whose code is taken, by the store or by
+     * another URL of the same batch, go through {@link #allocate} one by one.
+     *
+     * @param linkFactory builds the link for an original URL and a candidate short code
+     * @return one entry per URL, in the same order: the created link, or null for a URL that
+     * exhausted every attempt (counted as a failure)
+     */
+    public List<Link> allocateAll(List<String> originalUrls, UUID ownerId,
+                                  BiFunction<String, String, Link> linkFactory) {
+        List<Link> batch = new ArrayList<>(originalUrls.size());
+        for (String url : originalUrls) {
+            batch.add(linkFactory.apply(url, codeGenerator.generateShortCode(url, ownerId, 0)));
+        }
+
+        List<Link> taken = repository.saveAllIfAbsent(batch);
+        allocations.add(batch.size() - taken.size());
+        if (taken.isEmpty()) {
+            return batch;
+        }
+
+        Set<Link> retry = Collections.newSetFromMap(new IdentityHashMap<>());
+        retry.addAll(taken);
+        List<Link> created = new ArrayList<>(batch.size());
+        for (Link link : batch) {
+            if (!retry.contains(link)) {
+                created.add(link);
+                continue;
+            }
+            String url = link.getOriginalUrl();
+            try {
+                created.add(allocate(url, ownerId, code -> linkFactory.apply(url, code)));
+            } catch (IllegalStateException e) {
+                created.add(null); // Counted as a failure by allocate
+            }
+        }
+        return created;
+    }
+
+    public long getAllocations() {
+        return allocations.sum();
+    }
+
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Allocations that gave up after exhausting every attempt
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Largest number of retries a successful allocation needed
+     */
+    public long getMaxRetries() {
+        return maxRetries.get();
+    }
+
+    /**
+     * Share of reservation attempts that hit a taken code
+     */
+    public double getCollisionRate() {
+        long collided = collisions.sum();
+        long attempts = allocations.sum() + collided;
+        return attempts == 0 ? 0.0 : (double) collided / attempts;
+    }
+}
@@ -1,9 +1,10 @@
 package com.linkshorter.service;
 
+import com.linkshorter.util.Base62;
+
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
 import java.util.UUID;
 
 /**
@@ -11,7 +12,8 @@ import java.util.UUID;
  * Combines URL and user ID to ensure uniqueness per user
  */
 public class ShortCodeGenerator {
-    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    // 248 = 4 * 62: byte values below it map uniformly onto the alphabet
+    private static final int UNBIASED_LIMIT = 256 - 256 % Base62.RADIX;
     private final int codeLength;
 
     public ShortCodeGenerator(int codeLength) {
@@ -26,62 +28,69 @@ public class ShortCodeGenerator {
      * Ensures different users get different codes for the same URL
      */
     public String generateShortCode(String originalUrl, UUID userId) {
+        return generateShortCode(originalUrl, userId, 0);
+    }
+
+    /**
+     * Generate a short code for the given allocation attempt
+     * Attempts after the first salt the input, so each retry after a collision yields a new code
+     */
+    public String generateShortCode(String originalUrl, UUID userId, int attempt) {
         if (originalUrl == null || originalUrl.isBlank()) {
             throw new IllegalArgumentException("URL cannot be null or empty");
         }
         if (userId == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
+        if (attempt < 0) {
+            throw new IllegalArgumentException("Attempt cannot be negative");
+        }
 
         // Combine URL and user ID to ensure uniqueness per user
         String combined = originalUrl + "|" + userId.toString();
+        if (attempt > 0) {
+            combined += "#" + attempt;
+        }
 
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hash = digest.digest(combined.getBytes(StandardCharsets.UTF_8));
 
-            // Convert hash to base62-like encoding
-            return encodeToAlphabet(hash, codeLength);
+            // Convert hash to base62 encoding
+            return encodeToAlphabet(digest, hash, codeLength);
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 algorithm not available", e);
         }
     }
 
-    private String encodeToAlphabet(byte[] data, int length) {
-        StringBuilder result = new StringBuilder();
-
-        // Use the hash bytes to select characters from alphabet
-        for (int i = 0; i < length && i < data.length; i++) {
-            int index = Math.abs(data[i]) % ALPHABET.length();
-            result.append(ALPHABET.charAt(index));
-        }
+    /**
+     * Unbiased base62: bytes at or above the largest multiple of 62 are rejected,
+     * and the hash is re-hashed when it runs out of usable bytes
+     */
+    private String encodeToAlphabet(MessageDigest digest, byte[] data, int length) {
+        char[] result = new char[length];
+        int filled = 0;
+        int i = 0;
 
-        // If we need more characters, use additional hash bytes
-        if (result.length() < length) {
-            for (int i = data.length; result.length() < length; i++) {
-                int index = Math.abs(data[i % data.length] + i) % ALPHABET.length();
-                result.append(ALPHABET.charAt(index));
+        while (filled < length) {
+            if (i == data.length) {
+                data = digest.digest(data);
+                i = 0;
+            }
+            int value = data[i++] & 0xFF;
+            if (value < UNBIASED_LIMIT) {
+                result[filled++] = Base62.digit(value % Base62.RADIX);
             }
         }
 
-        return result.toString();
+        return new String(result);
     }
 
     /**
      * Validate if a short code has the correct format
      */
     public boolean isValidShortCode(String code) {
-        if (code == null || code.length() != codeLength) {
-            return false;
-        }
-
-        for (char c : code.toCharArray()) {
-            if (ALPHABET.indexOf(c) == -1) {
-                return false;
-            }
-        }
-
-        return true;
+        return code != null && code.length() == codeLength && Base62.isValid(code);
     }
 }
 
@@ -0,0 +1,149 @@
+package com.linkshorter.util;
+
+import java.util.Arrays;
+
+/**
+ * Base62 codec for short codes
+ * <p>
+ * Decoding and validation use a 128-entry lookup table instead of searching the alphabet.
+ * Codes of up to {@link #MAX_PACKED_LENGTH} characters can be packed into a single long
+ * (length in the top 4 bits, 6 bits per character), which storage can use as a compact key.
+ */
+public final class Base62 {
+    public static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    public static final int RADIX = 62;
+    public static final int MAX_PACKED_LENGTH = 10;
+
+    /**
+     * Returned by {@link #pack(CharSequence)} for codes that cannot be packed
+     */
+    public static final long NOT_PACKABLE = -1L;
+
+    private static final char[] DIGITS = ALPHABET.toCharArray();
+    private static final byte[] VALUES = new byte[128];
+    private static final int BITS_PER_CHAR = 6;
+    private static final int LENGTH_SHIFT = 60;
+    private static final long CHAR_MASK = (1L << BITS_PER_CHAR) - 1;
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < DIGITS.length; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private Base62() {
+    }
+
+    /**
+     * Character for a digit value in [0, 62)
+     */
+    public static char digit(int value) {
+        return DIGITS[value];
+    }
+
+    /**
+     * Digit value of a character, or -1 if it is not in the alphabet
+     */
+    public static int value(char c) {
+        return c < 128 ? VALUES[c] : -1;
+    }
+
+    /**
+     * Check that every character belongs to the alphabet
+     */
+    public static boolean isValid(CharSequence code) {
+        if (code == null || code.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (value(code.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write value as exactly target.length digits, most significant first
+     */
+    public static void encode(long value, char[] target) {
+        for (int i = target.length - 1; i >= 0; i--) {
+            target[i] = DIGITS[(int) (value % RADIX)];
+            value /= RADIX;
+        }
+    }
+
+    /**
+     * Write value as exactly target.length ASCII digits, most significant first
+     */
+    public static void encode(long value, byte[] target) {
+        for (int i = target.length - 1; i >= 0; i--) {
+            target[i] = (byte) DIGITS[(int) (value % RADIX)];
+            value /= RADIX;
+        }
+    }
+
+    public static String encode(long value, int length) {
+        char[] chars = new char[length];
+        encode(value, chars);
+        return new String(chars);
+    }
+
+    /**
+     * Numeric value of a code of at most 10 characters
+     */
+    public static long decode(CharSequence code) {
+        if (!isValid(code) || code.length() > MAX_PACKED_LENGTH) {
+            throw new IllegalArgumentException("Not a base62 code of at most " + MAX_PACKED_LENGTH + " characters: " + code);
+        }
+        long value = 0;
+        for (int i = 0; i < code.length(); i++) {
+            value = value * RADIX + VALUES[code.charAt(i)];
+        }
+        return value;
+    }
+
+    /**
+     * Pack a code into a long, or return {@link #NOT_PACKABLE}
+     * Distinct codes always pack to distinct values
+     */
+    public static long pack(CharSequence code) {
+        int length = code.length();
+        if (length == 0 || length > MAX_PACKED_LENGTH) {
+            return NOT_PACKABLE;
+        }
+        long packed = (long) length << LENGTH_SHIFT;
+        for (int i = 0; i < length; i++) {
+            int value = value(code.charAt(i));
+            if (value < 0) {
+                return NOT_PACKABLE;
+            }
+            packed |= (long) value << (BITS_PER_CHAR * i);
+        }
+        return packed;
+    }
+
+    public static int packedLength(long packed) {
+        return (int) (packed >>> LENGTH_SHIFT);
+    }
+
+    /**
+     * Inverse of {@link #pack(CharSequence)}
+     */
+    public static String unpack(long packed) {
+        int length = packedLength(packed);
+        if (packed == NOT_PACKABLE || length == 0 || length > MAX_PACKED_LENGTH) {
+            throw new IllegalArgumentException("Not a packed code: " + packed);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            int value = (int) ((packed >>> (BITS_PER_CHAR * i)) & CHAR_MASK);
+            if (value >= RADIX) {
+                throw new IllegalArgumentException("Not a packed code: " + packed);
+            }
+            chars[i] = DIGITS[value];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,57 @@
+package com.linkshorter.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Clock read from a volatile field that a background thread refreshes every tick
+ * <p>
+ * Reading it is a single memory load, with no system call. The value may lag real time by
+ * about one tick, which is fine for link expiry measured in hours.
+ */
+public final class CoarseTimeSource implements TimeSource, AutoCloseable {
+    public static final long DEFAULT_TICK_MILLIS = 1;
+
+    private final long tickNanos;
+    private final Thread ticker;
+    private volatile long now = System.currentTimeMillis();
+    private volatile boolean running = true;
+
+    public CoarseTimeSource() {
+        this(DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * @param tickMillis interval between refreshes
+     */
+    public CoarseTimeSource(long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.ticker = new Thread(this::tick, "CoarseClock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * Stop the ticker; the clock keeps returning the last value
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private void tick() {
+        while (running) {
+            LockSupport.parkNanos(tickNanos);
+            now = System.currentTimeMillis();
+        }
+    }
+}
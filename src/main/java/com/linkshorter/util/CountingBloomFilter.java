@@ -0,0 +1,122 @@
+package com.linkshorter.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe counting Bloom filter for strings
+ * <p>
+ * Each position is a 4-bit counter (16 per long), so keys can be removed as well as added.
+ * A counter that reaches 15 stays there: it can no longer be decremented safely, and keeping
+ * it saturated only costs false positives, never false negatives.
+ */
+public final class CountingBloomFilter {
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+    private final long expectedInsertions;
+
+    /**
+     * @param expectedInsertions number of keys the filter is sized for
+     * @param falsePositiveRate  false positive rate at that number of keys, in (0, 1)
+     */
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        double ln2 = Math.log(2);
+        long optimal = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long maxCounters = (long) Integer.MAX_VALUE * COUNTERS_PER_WORD;
+        this.counters = Math.max(COUNTERS_PER_WORD, Math.min(optimal, maxCounters));
+        this.hashes = Math.max(1, (int) Math.round((double) counters / expectedInsertions * ln2));
+        this.words = new AtomicLongArray((int) ((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public void add(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            update(Math.floorMod(h1 + i * h2, counters), 1);
+        }
+    }
+
+    /**
+     * Remove a key that was added before; removing any other key may cause false negatives
+     */
+    public void remove(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            update(Math.floorMod(h1 + i * h2, counters), -1);
+        }
+    }
+
+    /**
+     * @return false if the key has definitely not been added
+     */
+    public boolean mightContain(CharSequence key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            if (count(Math.floorMod(h1 + i * h2, counters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long getCounters() {
+        return counters;
+    }
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    private long count(long index) {
+        int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        return (words.get((int) (index / COUNTERS_PER_WORD)) >>> shift) & MAX_COUNT;
+    }
+
+    private void update(long index, int delta) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long next = current + ((long) delta << shift);
+            if (words.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static long hash(CharSequence key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,35 @@
+package com.linkshorter.util;
+
+/**
+ * Minimal JSON output helpers for the line formats written by hand
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Append a value as a quoted JSON string; control characters are escaped
+     */
+    public static StringBuilder appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"');
+    }
+}
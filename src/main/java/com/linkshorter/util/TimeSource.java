@@ -0,0 +1,17 @@
+package com.linkshorter.util;
+
+/**
+ * Source of the current time in epoch milliseconds
+ * <p>
+ * Expiry checks go through this instead of {@link java.time.Instant#now()}, so the hot path does
+ * not allocate and tests can control time.
+ */
+@FunctionalInterface
+public interface TimeSource {
+    /**
+     * Precise system clock
+     */
+    TimeSource SYSTEM = System::currentTimeMillis;
+
+    long currentTimeMillis();
+}
@@ -0,0 +1,118 @@
+package com.linkshorter.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppConfigurationTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testClasspathDefaults() {
+        AppConfiguration config = new AppConfiguration(null, Map.of(), new Properties());
+
+        assertEquals(86400000L, config.getDefaultTtl());
+        assertEquals("clck.ru", config.getLinkDomain());
+        assertSame(config.snapshot(), config.snapshot());
+    }
+
+    @Test
+    void testOverrideOrder() throws IOException {
+        Path file = write("link.domain=file.example\nlink.click.limit.default=7\nlink.code.length=9\n");
+        Properties system = new Properties();
+        system.setProperty("link.code.length", "12");
+        Map<String, String> environment = Map.of(
+                "LINKSHORTER_LINK_CLICK_LIMIT_DEFAULT", "8",
+                "LINKSHORTER_LINK_CODE_LENGTH", "10");
+
+        ConfigSnapshot snapshot = new AppConfiguration(file, environment, system).snapshot();
+
+        assertEquals("file.example", snapshot.getLinkDomain());
+        assertEquals(8, snapshot.getDefaultClickLimit());
+        assertEquals(12, snapshot.getShortCodeLength());
+    }
+
+    @Test
+    void testEnvironmentName() {
+        assertEquals("LINKSHORTER_LINK_CODE_MAX_ATTEMPTS", AppConfiguration.environmentName("link.code.max-attempts"));
+    }
+
+    @Test
+    void testInvalidValueRejectedAtStartup() throws IOException {
+        Path file = write("link.ttl.default=soon\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new AppConfiguration(file, Map.of(), new Properties()));
+        assertTrue(e.getMessage().contains("link.ttl.default"));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigSnapshot(props("http.port", "0")));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigSnapshot(props("repository.bloom.fpp", "1.5")));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigSnapshot(props("http.enabled", "yes")));
+    }
+
+    @Test
+    void testReloadSwapsSnapshot() throws IOException {
+        Path file = write("link.domain=old.example\n");
+        AppConfiguration config = new AppConfiguration(file, Map.of(), new Properties());
+        ConfigSnapshot before = config.snapshot();
+
+        write("link.domain=new.example\n");
+        assertTrue(config.reload());
+
+        assertNotSame(before, config.snapshot());
+        assertEquals("old.example", before.getLinkDomain());
+        assertEquals("new.example", config.getLinkDomain());
+    }
+
+    @Test
+    void testInvalidReloadKeepsCurrentSnapshot() throws IOException {
+        Path file = write("link.domain=old.example\n");
+        AppConfiguration config = new AppConfiguration(file, Map.of(), new Properties());
+        ConfigSnapshot before = config.snapshot();
+
+        write("link.domain=new.example\nlink.click.limit.default=-1\n");
+        assertFalse(config.reload());
+
+        assertSame(before, config.snapshot());
+    }
+
+    @Test
+    void testWatcherReloadsChangedFile() throws Exception {
+        Path file = write("link.domain=old.example\n");
+        try (AppConfiguration config = new AppConfiguration(file, Map.of(), new Properties())) {
+            config.startWatching();
+            write("link.domain=watched.example\n");
+
+            long deadline = System.currentTimeMillis() + 15000;
+            while (!config.getLinkDomain().equals("watched.example") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals("watched.example", config.getLinkDomain());
+        }
+    }
+
+    @Test
+    void testWatchingRequiresExternalFile() {
+        AppConfiguration config = new AppConfiguration(null, Map.of(), new Properties());
+
+        assertThrows(IllegalStateException.class, config::startWatching);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("override.properties"), content);
+    }
+
+    private static Properties props(String key, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        return properties;
+    }
+}
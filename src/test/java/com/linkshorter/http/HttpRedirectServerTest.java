@@ -0,0 +1,132 @@
+package com.linkshorter.http;
+
+import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.model.Link;
+import com.linkshorter.model.User;
+import com.linkshorter.repository.InMemoryLinkRepository;
+import com.linkshorter.service.LinkService;
+import com.linkshorter.service.NotificationService;
+import com.linkshorter.service.ShortCodeGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpRedirectServerTest {
+
+    private LinkService linkService;
+    private HttpRedirectServer server;
+    private HttpClient client;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AppConfiguration config = new AppConfiguration();
+        linkService = new LinkService(new InMemoryLinkRepository(),
+                new ShortCodeGenerator(config.getShortCodeLength()),
+                new NotificationService(false),
+                config);
+        server = new HttpRedirectServer(linkService, config, 0);
+        server.start();
+        client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        user = User.createNew();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testRedirectToOriginalUrl() throws Exception {
+        Link link = linkService.createLink("https://example.com/page", user, 5);
+
+        HttpResponse<String> response = get("/" + link.getShortCode());
+
+        assertEquals(302, response.statusCode());
+        assertEquals("https://example.com/page", response.headers().firstValue("Location").orElse(null));
+        assertEquals(1, link.getClickCount());
+    }
+
+    @Test
+    void testRedirectUnknownCode() throws Exception {
+        HttpResponse<String> response = get("/zzzzzz");
+        assertEquals(404, response.statusCode());
+    }
+
+    @Test
+    void testRedirectAfterClickLimit() throws Exception {
+        Link link = linkService.createLink("https://example.com/limited", user, 1);
+
+        assertEquals(302, get("/" + link.getShortCode()).statusCode());
+        assertEquals(410, get("/" + link.getShortCode()).statusCode());
+    }
+
+    @Test
+    void testCreateLinkFromForm() throws Exception {
+        HttpResponse<String> response = post("url=https%3A%2F%2Fexample.com%2Fform&limit=7",
+                user.getIdString());
+
+        assertEquals(201, response.statusCode());
+        List<Link> links = linkService.getUserLinks(user);
+        assertEquals(1, links.size());
+        assertEquals("https://example.com/form", links.get(0).getOriginalUrl());
+        assertEquals(7, links.get(0).getClickLimit());
+        assertTrue(response.body().contains(links.get(0).getShortCode()));
+    }
+
+    @Test
+    void testCreateLinkFromPlainBodyForNewUser() throws Exception {
+        HttpResponse<String> response = post("https://example.com/plain", null);
+
+        assertEquals(201, response.statusCode());
+        String userId = response.headers().firstValue(HttpRedirectServer.USER_HEADER).orElseThrow();
+        assertEquals(1, linkService.getUserLinks(User.fromId(userId)).size());
+    }
+
+    @Test
+    void testCreateLinkWithInvalidUrl() throws Exception {
+        HttpResponse<String> response = post("not-a-url", user.getIdString());
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    void testCreateLinkWithInvalidLimit() throws Exception {
+        assertEquals(400, post("url=https%3A%2F%2Fexample.com&limit=0", user.getIdString()).statusCode());
+        assertEquals(400, post("url=https%3A%2F%2Fexample.com&limit=-5", user.getIdString()).statusCode());
+        assertEquals(0, linkService.getUserLinks(user).size());
+    }
+
+    @Test
+    void testUnsupportedMethod() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/links")).GET().build();
+        assertEquals(405, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String body, String userId) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri("/links"))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (userId != null) {
+            builder.header(HttpRedirectServer.USER_HEADER, userId);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
@@ -3,6 +3,7 @@ package com.linkshorter.integration;
 import com.linkshorter.config.AppConfiguration;
 import com.linkshorter.model.Link;
 import com.linkshorter.model.User;
+import com.linkshorter.repository.InMemoryLinkRepository;
 import com.linkshorter.repository.LinkRepository;
 import com.linkshorter.service.LinkService;
 import com.linkshorter.service.NotificationService;
@@ -26,7 +27,7 @@ class LinkServiceIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        LinkRepository repository = new LinkRepository();
+        LinkRepository repository = new InMemoryLinkRepository();
         AppConfiguration config = new AppConfiguration();
         ShortCodeGenerator codeGenerator = new ShortCodeGenerator(config.getShortCodeLength());
         NotificationService notificationService = new NotificationService(false);
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,7 +14,8 @@ class LinkTest {
     @Test
     void testBuildValidLink() {
         UUID ownerId = UUID.randomUUID();
-        Instant now = Instant.now();
+        // Expiry is kept with millisecond precision
+        Instant now = Instant.ofEpochMilli(System.currentTimeMillis());
         Instant expires = now.plusSeconds(3600);
 
         Link link = new Link.Builder()
@@ -156,6 +159,65 @@ class LinkTest {
         assertFalse(link.isActive());
     }
 
+    @Test
+    void testRegisterClick() {
+        Link link = createTestLink(2);
+
+        assertEquals(ClickResult.ACCEPTED, link.registerClick());
+        assertEquals(ClickResult.LIMIT_REACHED, link.registerClick());
+        assertEquals(ClickResult.REJECTED, link.registerClick());
+
+        assertEquals(2, link.getClickCount());
+        assertFalse(link.isActive());
+    }
+
+    @Test
+    void testRegisterClickOnInactiveLink() {
+        Link link = createTestLink(10);
+        link.deactivate();
+
+        assertEquals(ClickResult.REJECTED, link.registerClick());
+        assertEquals(0, link.getClickCount());
+    }
+
+    @Test
+    void testConcurrentRegisterClickNeverExceedsLimit() throws InterruptedException {
+        Link link = createTestLink(1000);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger limitReached = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 500; j++) {
+                    ClickResult result = link.registerClick();
+                    if (result != ClickResult.REJECTED) {
+                        accepted.incrementAndGet();
+                    }
+                    if (result == ClickResult.LIMIT_REACHED) {
+                        limitReached.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, accepted.get());
+        assertEquals(1, limitReached.get());
+        assertEquals(1000, link.getClickCount());
+        assertFalse(link.isActive());
+    }
+
     @Test
     void testIsExpired() {
         Instant past = Instant.now().minusSeconds(3600);
@@ -0,0 +1,132 @@
+package com.linkshorter.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedClickCounterTest {
+
+    @Test
+    void testSequentialCountingIsExact() {
+        StripedClickCounter counter = new StripedClickCounter(500, 100);
+
+        for (int i = 0; i < 499; i++) {
+            assertEquals(ClickResult.ACCEPTED, counter.acquire());
+        }
+        assertEquals(ClickResult.LIMIT_REACHED, counter.acquire());
+        assertEquals(ClickResult.REJECTED, counter.acquire());
+        assertEquals(500, counter.get());
+    }
+
+    @Test
+    void testNegativeThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedClickCounter(100, -1));
+    }
+
+    @Test
+    void testConcurrentCountingHonorsLimit() throws InterruptedException {
+        assertConcurrentLimit(200_000, 256);
+    }
+
+    @Test
+    void testConcurrentCountingWithZeroThreshold() throws InterruptedException {
+        assertConcurrentLimit(100_000, 0);
+    }
+
+    @Test
+    void testNoClickRejectedWhileClicksRemain() throws InterruptedException {
+        // Thresholds below one block let a refill grant the last clicks of the limit
+        for (int threshold : new int[]{0, 1, StripedClickCounter.BLOCK_SIZE}) {
+            for (int round = 0; round < 20; round++) {
+                StripedClickCounter counter = new StripedClickCounter(4096, threshold);
+                AtomicBoolean rejected = new AtomicBoolean();
+                AtomicInteger acceptedAfterReject = new AtomicInteger();
+                runConcurrently(8, () -> {
+                    for (int j = 0; j < 1024; j++) {
+                        boolean rejectedBefore = rejected.get();
+                        ClickResult result = counter.acquire();
+                        if (result == ClickResult.REJECTED) {
+                            rejected.set(true);
+                        } else if (rejectedBefore) {
+                            acceptedAfterReject.incrementAndGet();
+                        }
+                    }
+                });
+
+                assertEquals(0, acceptedAfterReject.get(), "threshold " + threshold);
+                assertEquals(4096, counter.get());
+            }
+        }
+    }
+
+    @Test
+    void testLinkWithStripedCounter() {
+        Link link = new Link.Builder()
+                .shortCode("abc123")
+                .originalUrl("https://example.com")
+                .ownerId(UUID.randomUUID())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(3)
+                .stripedCounter(1)
+                .build();
+
+        link.incrementClickCount();
+        link.incrementClickCount();
+        assertTrue(link.isActive());
+        assertEquals(ClickResult.LIMIT_REACHED, link.registerClick());
+        assertFalse(link.isActive());
+        assertTrue(link.hasReachedClickLimit());
+    }
+
+    private void assertConcurrentLimit(int limit, int threshold) throws InterruptedException {
+        StripedClickCounter counter = new StripedClickCounter(limit, threshold);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger limitReached = new AtomicInteger();
+        int threadCount = 8;
+        int attemptsPerThread = limit / threadCount + limit / 4;
+
+        runConcurrently(threadCount, () -> {
+            int local = 0;
+            for (int j = 0; j < attemptsPerThread; j++) {
+                ClickResult result = counter.acquire();
+                if (result != ClickResult.REJECTED) {
+                    local++;
+                }
+                if (result == ClickResult.LIMIT_REACHED) {
+                    limitReached.incrementAndGet();
+                }
+            }
+            accepted.addAndGet(local);
+        });
+
+        assertEquals(limit, accepted.get());
+        assertEquals(1, limitReached.get());
+        assertEquals(limit, counter.get());
+    }
+
+    private static void runConcurrently(int threadCount, Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.run();
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.linkshorter.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    @Test
+    void testFailedBatchesAreCounted() {
+        NotificationSink broken = new NotificationSink() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public void write(List<NotificationEvent> batch) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(broken, 16, NotificationDispatcher.POLICY_DROP, 4)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(dispatcher.publish(NotificationEvent.linkNotFound("code" + i)));
+            }
+
+            assertTrue(dispatcher.flush(5000));
+            assertEquals(10, dispatcher.getFailed());
+            assertEquals(0, dispatcher.getDelivered());
+        }
+    }
+
+    @Test
+    void testDropPolicyWhenSinkIsStuck() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationSink stuck = new NotificationSink() {
+            @Override
+            public String name() {
+                return "stuck";
+            }
+
+            @Override
+            public void write(List<NotificationEvent> batch) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(stuck, 4, NotificationDispatcher.POLICY_DROP, 1)) {
+            int accepted = 0;
+            for (int i = 0; i < 20; i++) {
+                if (dispatcher.publish(NotificationEvent.linkNotFound("code" + i))) {
+                    accepted++;
+                }
+            }
+
+            // At most the buffer plus the batch held by the sink get through
+            assertTrue(accepted <= 5, "Accepted: " + accepted);
+            assertEquals(20 - accepted, dispatcher.getDropped());
+            release.countDown();
+            assertTrue(dispatcher.flush(5000));
+            assertEquals(accepted, dispatcher.getDelivered());
+        }
+    }
+
+    @Test
+    void testInvalidSettings() {
+        NotificationSink sink = new ConsoleNotificationSink();
+        assertThrows(IllegalArgumentException.class, () -> new NotificationDispatcher(sink, 16, "wait", 4));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationDispatcher(sink, 16, NotificationDispatcher.POLICY_DROP, 0));
+        assertThrows(IllegalArgumentException.class, () -> new NotificationDispatcher(null, 16, NotificationDispatcher.POLICY_DROP, 4));
+    }
+}
@@ -0,0 +1,64 @@
+package com.linkshorter.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingFileNotificationSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWritesJsonLines() throws IOException {
+        try (RollingFileNotificationSink sink = new RollingFileNotificationSink(directory, 1024 * 1024, 3)) {
+            sink.write(List.of(
+                    NotificationEvent.linkCreated("abc123", "clck.ru/abc123", 10, 24),
+                    NotificationEvent.accessDenied("say \"hi\"", UUID.randomUUID())));
+
+            List<String> lines = Files.readAllLines(sink.currentFile());
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).startsWith("{\"type\":\"LINK_CREATED\""));
+            assertTrue(lines.get(0).contains("\"detail\":\"clck.ru/abc123\""));
+            assertTrue(lines.get(1).contains("\"shortCode\":\"say \\\"hi\\\"\""));
+        }
+    }
+
+    @Test
+    void testRollsOverBySize() throws IOException {
+        try (RollingFileNotificationSink sink = new RollingFileNotificationSink(directory, 300, 3)) {
+            for (int i = 0; i < 20; i++) {
+                List<NotificationEvent> batch = new ArrayList<>();
+                batch.add(NotificationEvent.linkNotFound("code" + i));
+                batch.add(NotificationEvent.linkNotFound("more" + i));
+                sink.write(batch);
+            }
+
+            assertTrue(Files.size(sink.currentFile()) <= 300);
+            assertTrue(Files.exists(sink.rolledFile(1)));
+            assertTrue(Files.exists(sink.rolledFile(2)));
+            assertFalse(Files.exists(sink.rolledFile(3)));
+            // The newest events are in the current file
+            assertTrue(Files.readString(sink.currentFile()).contains("more19"));
+        }
+    }
+
+    @Test
+    void testAppendsAfterReopen() throws IOException {
+        try (RollingFileNotificationSink sink = new RollingFileNotificationSink(directory, 1024 * 1024, 3)) {
+            sink.write(List.of(NotificationEvent.linkNotFound("first")));
+        }
+        try (RollingFileNotificationSink sink = new RollingFileNotificationSink(directory, 1024 * 1024, 3)) {
+            sink.write(List.of(NotificationEvent.linkNotFound("second")));
+            assertEquals(2, Files.readAllLines(sink.currentFile()).size());
+        }
+    }
+}
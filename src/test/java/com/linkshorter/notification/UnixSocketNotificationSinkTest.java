@@ -0,0 +1,49 @@
+package com.linkshorter.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnixSocketNotificationSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStreamsJsonLines() throws IOException {
+        Path socket = directory.resolve("n.sock");
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+             UnixSocketNotificationSink sink = new UnixSocketNotificationSink(socket)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+
+            sink.write(List.of(NotificationEvent.linkNotFound("abc123"), NotificationEvent.linkNotFound("def456")));
+
+            try (SocketChannel client = server.accept();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(
+                         Channels.newInputStream(client), StandardCharsets.UTF_8))) {
+                assertTrue(reader.readLine().contains("\"shortCode\":\"abc123\""));
+                assertTrue(reader.readLine().contains("\"shortCode\":\"def456\""));
+            }
+        }
+    }
+
+    @Test
+    void testFailsWithoutListener() {
+        UnixSocketNotificationSink sink = new UnixSocketNotificationSink(directory.resolve("missing.sock"));
+
+        assertThrows(IOException.class, () -> sink.write(List.of(NotificationEvent.linkNotFound("abc123"))));
+    }
+}
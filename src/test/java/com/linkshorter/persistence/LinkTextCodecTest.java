@@ -0,0 +1,105 @@
+package com.linkshorter.persistence;
+
+import com.linkshorter.model.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkTextCodecTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripBothFormats() {
+        Link link = link("aBc123", "https://example.com/?q=\"a,b\"\\\té");
+
+        for (String format : new String[]{LinkTextCodec.FORMAT_CSV, LinkTextCodec.FORMAT_NDJSON}) {
+            String line = LinkTextCodec.appendLine(new StringBuilder(), link, format).toString();
+            Link parsed = LinkTextCodec.parseLine(line.substring(0, line.length() - 1), format);
+
+            assertEquals(link.getOriginalUrl(), parsed.getOriginalUrl(), format);
+            assertEquals(link.getOwnerId(), parsed.getOwnerId());
+            assertEquals(link.getCreatedAt(), parsed.getCreatedAt());
+            assertEquals(link.getExpiresAtMillis(), parsed.getExpiresAtMillis());
+            assertEquals(3, parsed.getClickCount());
+            assertEquals(64, parsed.getStripedCounterThreshold());
+        }
+    }
+
+    @Test
+    void testFormatOf() {
+        assertEquals(LinkTextCodec.FORMAT_CSV, LinkTextCodec.formatOf(Path.of("backup.CSV")));
+        assertEquals(LinkTextCodec.FORMAT_NDJSON, LinkTextCodec.formatOf(Path.of("backup.jsonl")));
+        assertThrows(IllegalArgumentException.class, () -> LinkTextCodec.formatOf(Path.of("backup.txt")));
+    }
+
+    @Test
+    void testMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> LinkTextCodec.parseCsv("\"aBc123\",\"https://example.com\""));
+        assertThrows(IllegalArgumentException.class, () -> LinkTextCodec.parseJson("{\"shortCode\":\"aBc123\"}"));
+        assertThrows(IllegalArgumentException.class, () -> LinkTextCodec.parseJson("{\"shortCode\":[1]}"));
+    }
+
+    @Test
+    void testWriterAndReaderStreamManyLinks() throws IOException {
+        Path file = directory.resolve("links.csv");
+        int count = 20_000;
+        try (LinkExportWriter writer = new LinkExportWriter(file, LinkTextCodec.FORMAT_CSV)) {
+            for (int i = 0; i < count; i++) {
+                writer.append(link("c" + i, "https://example.com/line\nbreak/" + i));
+            }
+            writer.commit();
+        }
+        assertFalse(Files.exists(directory.resolve("links.csv.tmp")));
+
+        try (LinkImportReader reader = new LinkImportReader(file, LinkTextCodec.FORMAT_CSV)) {
+            int read = 0;
+            Link link;
+            while ((link = reader.next()) != null) {
+                assertEquals("https://example.com/line\nbreak/" + read, link.getOriginalUrl());
+                read++;
+            }
+            assertEquals(count, read);
+            assertEquals(0, reader.getRejected());
+        }
+    }
+
+    @Test
+    void testReaderSkipsBomBlankAndBadLines() throws IOException {
+        Path file = directory.resolve("links.ndjson");
+        StringBuilder text = new StringBuilder("\uFEFF");
+        LinkTextCodec.appendJson(text, link("aBc123", "https://example.com"));
+        text.append("\r\n   \r\nnot json\r\n");
+        LinkTextCodec.appendJson(text, link("xYz789", "https://example.org"));
+        Files.writeString(file, text.toString().replace("}\n", "}\r\n").stripTrailing());
+
+        try (LinkImportReader reader = new LinkImportReader(file, LinkTextCodec.FORMAT_NDJSON)) {
+            assertEquals("aBc123", reader.next().getShortCode());
+            assertEquals("xYz789", reader.next().getShortCode());
+            assertNull(reader.next());
+            assertEquals(1, reader.getRejected());
+            assertTrue(reader.getErrors().get(0).startsWith("line 4:"));
+        }
+    }
+
+    private static Link link(String shortCode, String url) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl(url)
+                .ownerId(UUID.randomUUID())
+                .createdAt(Instant.ofEpochMilli(1_700_000_000_123L))
+                .expiresAtMillis(1_700_086_400_123L)
+                .clickLimit(100_000)
+                .clickCount(3)
+                .stripedCounter(64)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.linkshorter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testNoWritesAcceptedAfterFailure() throws Exception {
+        WriteAheadLog wal = new WriteAheadLog(directory, 1024 * 1024, 64);
+        wal.start();
+        wal.append(WalRecord.delete("before")).join();
+
+        // Fail one batch, then give the writer a working channel again
+        Field channelField = WriteAheadLog.class.getDeclaredField("channel");
+        channelField.setAccessible(true);
+        FileChannel channel = (FileChannel) channelField.get(wal);
+        Path segment = wal.listSegments().get(0);
+        channel.close();
+        assertThrows(CompletionException.class, () -> wal.append(WalRecord.delete("failed")).join());
+        channelField.set(wal, FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+
+        CompletableFuture<Void> later = wal.append(WalRecord.delete("after"));
+        assertThrows(CompletionException.class, later::join);
+        wal.close();
+
+        WriteAheadLog reopened = new WriteAheadLog(directory, 1024 * 1024, 64);
+        assertEquals(1, reopened.replay(record -> assertEquals("before", record.getShortCode())));
+    }
+}
@@ -0,0 +1,214 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterLinkRepositoryTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private InMemoryLinkRepository store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLinkRepository() {
+            @Override
+            public Link findByShortCodeOrNull(String shortCode) {
+                lookups.incrementAndGet();
+                return super.findByShortCodeOrNull(shortCode);
+            }
+        };
+    }
+
+    @Test
+    void testAbsentCodesSkipTheStore() {
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(store, 1000, 0.01);
+        repository.save(createTestLink("abc123"));
+
+        assertTrue(repository.findByShortCode("abc123").isPresent());
+        for (int i = 0; i < 100; i++) {
+            assertFalse(repository.exists("zz" + i));
+        }
+
+        assertEquals(100, repository.getFilteredLookups() + repository.getFalsePositives());
+        assertTrue(repository.getFilteredLookups() > 90);
+    }
+
+    @Test
+    void testBuiltFromExistingLinks() {
+        store.save(createTestLink("abc123"));
+
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(store, 1000, 0.01);
+
+        assertTrue(repository.exists("abc123"));
+    }
+
+    @Test
+    void testDeleteAndReplace() {
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(store, 1000, 0.01);
+        repository.save(createTestLink("abc123"));
+        repository.save(createTestLink("abc123"));
+
+        assertTrue(repository.delete("abc123"));
+
+        // Replacing did not count the code twice, so one delete clears it from the filter
+        lookups.set(0);
+        assertFalse(repository.exists("abc123"));
+        assertEquals(0, lookups.get());
+        assertTrue(repository.saveIfAbsent(createTestLink("abc123")));
+        assertFalse(repository.saveIfAbsent(createTestLink("abc123")));
+        assertTrue(repository.exists("abc123"));
+    }
+
+    @Test
+    void testSaveAllIfAbsent() {
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(store, 1000, 0.01);
+        Link existing = createTestLink("abc123");
+        repository.save(existing);
+        Link duplicate = createTestLink("abc123");
+
+        List<Link> taken = repository.saveAllIfAbsent(List.of(createTestLink("def456"), duplicate));
+
+        assertEquals(List.of(duplicate), taken);
+        assertSame(existing, repository.findByShortCode("abc123").orElseThrow());
+        assertTrue(repository.exists("def456"));
+
+        // The taken code was counted once, so one delete clears it from the filter
+        assertTrue(repository.delete("abc123"));
+        lookups.set(0);
+        assertFalse(repository.exists("abc123"));
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    void testStoredLinkIsInFilterWhileTheWriteIsPending() {
+        AtomicReference<BloomFilterLinkRepository> bloom = new AtomicReference<>();
+        List<Boolean> seen = new ArrayList<>();
+        InMemoryLinkRepository slowStore = new InMemoryLinkRepository() {
+            @Override
+            public void save(Link link) {
+                super.save(link);
+                seen.add(bloom.get().exists(link.getShortCode()));
+            }
+
+            @Override
+            public boolean saveIfAbsent(Link link) {
+                boolean saved = super.saveIfAbsent(link);
+                seen.add(bloom.get().exists(link.getShortCode()));
+                return saved;
+            }
+        };
+        bloom.set(new BloomFilterLinkRepository(slowStore, 1000, 0.01));
+
+        bloom.get().save(createTestLink("abc123"));
+        bloom.get().saveIfAbsent(createTestLink("def456"));
+
+        assertEquals(List.of(true, true), seen);
+    }
+
+    @Test
+    void testDeleteDoesNotWaitForPendingSave() throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Stands in for a durable store waiting for its fsync
+        InMemoryLinkRepository slowStore = new InMemoryLinkRepository() {
+            @Override
+            public void save(Link link) {
+                super.save(link);
+                saving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(slowStore, 1000, 0.01);
+
+        Thread writer = new Thread(() -> repository.save(createTestLink("abc123")));
+        writer.start();
+        assertTrue(saving.await(10, TimeUnit.SECONDS));
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertTrue(repository.delete("abc123")));
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+
+        assertTrue(repository.saveIfAbsent(createTestLink("abc123")));
+        assertTrue(repository.exists("abc123"));
+    }
+
+    @Test
+    void testFailedWriteTakesCodeBack() {
+        InMemoryLinkRepository failingStore = new InMemoryLinkRepository() {
+            @Override
+            public void save(Link link) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+
+            @Override
+            public boolean saveIfAbsent(Link link) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        };
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(failingStore, 1000, 0.01);
+
+        assertThrows(UncheckedIOException.class, () -> repository.save(createTestLink("abc123")));
+        assertThrows(UncheckedIOException.class, () -> repository.saveIfAbsent(createTestLink("def456")));
+
+        assertFalse(repository.exists("abc123"));
+        assertFalse(repository.exists("def456"));
+        assertEquals(2, repository.getFilteredLookups());
+    }
+
+    @Test
+    void testGrowsWithTheStore() {
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(store, 16, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            repository.save(createTestLink("code" + i));
+        }
+
+        assertTrue(repository.getFilterCapacity() >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(repository.exists("code" + i));
+        }
+    }
+
+    @Test
+    void testClear() {
+        BloomFilterLinkRepository repository = new BloomFilterLinkRepository(store, 1000, 0.01);
+        repository.save(createTestLink("abc123"));
+
+        repository.clear();
+
+        lookups.set(0);
+        assertFalse(repository.exists("abc123"));
+        assertEquals(0, lookups.get());
+    }
+
+    private Link createTestLink(String shortCode) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(UUID.randomUUID())
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(10)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.ClickResult;
+import com.linkshorter.model.Link;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingLinkRepositoryTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private CachingLinkRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryLinkRepository store = new InMemoryLinkRepository() {
+            @Override
+            public Link findByShortCodeOrNull(String shortCode) {
+                lookups.incrementAndGet();
+                return super.findByShortCodeOrNull(shortCode);
+            }
+        };
+        repository = new CachingLinkRepository(store, 1000);
+    }
+
+    @Test
+    void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(1024, repository.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new CachingLinkRepository(new InMemoryLinkRepository(), 0));
+    }
+
+    @Test
+    void testFoundLinkIsCached() {
+        Link link = createTestLink("abc123");
+        repository.save(link);
+
+        assertSame(link, repository.findByShortCode("abc123").orElseThrow());
+        assertSame(link, repository.findByShortCode("abc123").orElseThrow());
+        assertTrue(repository.exists("abc123"));
+
+        assertEquals(1, lookups.get());
+        assertEquals(2, repository.getHits());
+    }
+
+    @Test
+    void testAbsentCodeIsCached() {
+        assertTrue(repository.findByShortCode("nope42").isEmpty());
+        assertFalse(repository.exists("nope42"));
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, repository.getNegativeHits());
+    }
+
+    @Test
+    void testSaveInvalidatesAbsentCode() {
+        assertTrue(repository.findByShortCode("abc123").isEmpty());
+
+        assertTrue(repository.saveIfAbsent(createTestLink("abc123")));
+
+        assertTrue(repository.findByShortCode("abc123").isPresent());
+    }
+
+    @Test
+    void testReplaceAndDeleteInvalidateFoundLink() {
+        repository.save(createTestLink("abc123"));
+        repository.findByShortCode("abc123");
+
+        Link replacement = createTestLink("abc123");
+        repository.save(replacement);
+        assertSame(replacement, repository.findByShortCode("abc123").orElseThrow());
+
+        assertTrue(repository.delete("abc123"));
+        assertTrue(repository.findByShortCode("abc123").isEmpty());
+    }
+
+    @Test
+    void testClearInvalidatesEverything() {
+        repository.save(createTestLink("abc123"));
+        repository.findByShortCode("abc123");
+
+        repository.clear();
+
+        assertTrue(repository.findByShortCode("abc123").isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testFailedWriteDoesNotLeaveStaleEntry() {
+        AtomicReference<CachingLinkRepository> cache = new AtomicReference<>();
+        // Publishes the change, lets a reader see it while "waiting for the log", then rolls back
+        InMemoryLinkRepository store = new InMemoryLinkRepository() {
+            @Override
+            public void save(Link link) {
+                Link previous = super.findByShortCodeOrNull(link.getShortCode());
+                super.save(link);
+                cache.get().findByShortCodeOrNull(link.getShortCode());
+                super.save(previous);
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+
+            @Override
+            public boolean delete(String shortCode) {
+                Link previous = super.findByShortCodeOrNull(shortCode);
+                super.delete(shortCode);
+                cache.get().findByShortCodeOrNull(shortCode);
+                super.save(previous);
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        };
+        Link original = createTestLink("abc123");
+        store.saveIfAbsent(original);
+        cache.set(new CachingLinkRepository(store, 1000));
+
+        assertThrows(UncheckedIOException.class, () -> cache.get().save(createTestLink("abc123")));
+        assertSame(original, cache.get().findByShortCodeOrNull("abc123"));
+
+        assertThrows(UncheckedIOException.class, () -> cache.get().delete("abc123"));
+        assertSame(original, cache.get().findByShortCodeOrNull("abc123"));
+    }
+
+    @Test
+    void testCachedOffHeapLinksSurviveDeletesInTheirProbeChain(@TempDir Path storeDir) throws IOException {
+        try (OffHeapLinkRepository store = new OffHeapLinkRepository(storeDir, 16)) {
+            CachingLinkRepository cached = new CachingLinkRepository(store, 1000);
+            // 12 links in 16 slots: deletes shift the survivors, whose views stay cached
+            for (int i = 0; i < 12; i++) {
+                cached.save(createTestLink("code" + i));
+                assertEquals(ClickResult.ACCEPTED, cached.findByShortCodeOrNull("code" + i).registerClick());
+            }
+            for (int i = 0; i < 12; i += 4) {
+                assertTrue(cached.delete("code" + i));
+            }
+
+            for (int i = 0; i < 12; i++) {
+                if (i % 4 != 0) {
+                    assertEquals(ClickResult.ACCEPTED, cached.findByShortCodeOrNull("code" + i).registerClick(), "code" + i);
+                    assertEquals(2, store.findByShortCodeOrNull("code" + i).getClickCount(), "code" + i);
+                }
+            }
+        }
+    }
+
+    private Link createTestLink(String shortCode) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(UUID.randomUUID())
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(10)
+                .build();
+    }
+}
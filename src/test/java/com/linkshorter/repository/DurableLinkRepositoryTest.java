@@ -0,0 +1,233 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.persistence.SnapshotStore;
+import com.linkshorter.persistence.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableLinkRepositoryTest {
+
+    @TempDir
+    Path walDir;
+
+    @Test
+    void testLinksSurviveRestart() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (DurableLinkRepository repository = open()) {
+            repository.save(createTestLink("abc123", ownerId, 10));
+            repository.save(createTestLink("def456", ownerId, 20));
+            repository.save(createTestLink("ghi789", UUID.randomUUID(), 30));
+            repository.delete("def456");
+        }
+
+        try (DurableLinkRepository repository = open()) {
+            assertEquals(2, repository.count());
+            assertTrue(repository.exists("abc123"));
+            assertFalse(repository.exists("def456"));
+            assertTrue(repository.exists("ghi789"));
+
+            List<Link> ownerLinks = repository.findByOwnerId(ownerId);
+            assertEquals(1, ownerLinks.size());
+            assertEquals("abc123", ownerLinks.get(0).getShortCode());
+        }
+    }
+
+    @Test
+    void testClickCountsSurviveRestart() throws IOException {
+        try (DurableLinkRepository repository = open()) {
+            Link link = createTestLink("abc123", UUID.randomUUID(), 5);
+            repository.save(link);
+            for (int i = 0; i < 3; i++) {
+                link.registerClick();
+                repository.recordClick(link);
+            }
+        }
+
+        try (DurableLinkRepository repository = open()) {
+            Optional<Link> restored = repository.findByShortCode("abc123");
+            assertTrue(restored.isPresent());
+            assertEquals(3, restored.get().getClickCount());
+            assertEquals(5, restored.get().getClickLimit());
+            assertTrue(restored.get().isActive());
+        }
+    }
+
+    @Test
+    void testClickLimitUpdateSurvivesRestart() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (DurableLinkRepository repository = open()) {
+            repository.save(createTestLink("abc123", ownerId, 5));
+            repository.save(createTestLink("abc123", ownerId, 50));
+        }
+
+        try (DurableLinkRepository repository = open()) {
+            assertEquals(50, repository.findByShortCode("abc123").orElseThrow().getClickLimit());
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        try (DurableLinkRepository repository = open()) {
+            repository.save(createTestLink("abc123", UUID.randomUUID(), 10));
+        }
+
+        // Simulate a crash in the middle of writing a record
+        Path segment;
+        try (var files = Files.list(walDir)) {
+            segment = files.filter(p -> Files.isRegularFile(p)).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (DurableLinkRepository repository = open()) {
+            assertEquals(1, repository.count());
+            assertTrue(repository.exists("abc123"));
+        }
+    }
+
+    @Test
+    void testSegmentsRollOver() throws IOException {
+        try (DurableLinkRepository repository = open(256)) {
+            for (int i = 0; i < 20; i++) {
+                repository.save(createTestLink("code" + i, UUID.randomUUID(), 10));
+            }
+        }
+
+        try (var files = Files.list(walDir)) {
+            assertTrue(files.count() > 1);
+        }
+        try (DurableLinkRepository repository = open(256)) {
+            assertEquals(20, repository.count());
+        }
+    }
+
+    @Test
+    void testRestartFromSnapshotAndLogTail() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (DurableLinkRepository repository = openWithSnapshots()) {
+            for (int i = 0; i < 10; i++) {
+                repository.save(createTestLink("code" + i, ownerId, 10));
+            }
+            Link clicked = repository.findByShortCode("code1").orElseThrow();
+            clicked.registerClick();
+            clicked.registerClick();
+
+            assertEquals(10, repository.snapshot());
+
+            // Changes after the snapshot only live in the log tail
+            repository.delete("code0");
+            repository.save(createTestLink("tail1", ownerId, 10));
+        }
+
+        try (var files = Files.list(walDir)) {
+            assertEquals(1, files.filter(p -> p.getFileName().toString().startsWith("snapshot-")).count());
+        }
+
+        try (DurableLinkRepository repository = openWithSnapshots()) {
+            assertEquals(10, repository.getSnapshotLinks());
+            assertEquals(2, repository.getRecoveredRecords());
+            assertEquals(10, repository.count());
+            assertFalse(repository.exists("code0"));
+            assertTrue(repository.exists("tail1"));
+            assertEquals(2, repository.findByShortCode("code1").orElseThrow().getClickCount());
+            assertEquals(10, repository.findByOwnerId(ownerId).size());
+        }
+    }
+
+    @Test
+    void testSnapshotTruncatesLog() throws IOException {
+        try (DurableLinkRepository repository = openWithSnapshots()) {
+            for (int i = 0; i < 20; i++) {
+                repository.save(createTestLink("code" + i, UUID.randomUUID(), 10));
+            }
+            repository.snapshot();
+        }
+
+        try (DurableLinkRepository repository = openWithSnapshots()) {
+            assertEquals(20, repository.count());
+            assertEquals(0, repository.getRecoveredRecords());
+        }
+    }
+
+    @Test
+    void testBatchSurvivesRestart() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (DurableLinkRepository repository = open()) {
+            repository.save(createTestLink("abc123", ownerId, 10));
+            Link duplicate = createTestLink("abc123", ownerId, 99);
+
+            List<Link> taken = repository.saveAllIfAbsent(List.of(
+                    createTestLink("def456", ownerId, 20), duplicate, createTestLink("ghi789", ownerId, 30)));
+
+            assertEquals(List.of(duplicate), taken);
+        }
+
+        try (DurableLinkRepository repository = open()) {
+            assertEquals(3, repository.count());
+            assertEquals(10, repository.findByShortCode("abc123").orElseThrow().getClickLimit());
+            assertEquals(30, repository.findByShortCode("ghi789").orElseThrow().getClickLimit());
+        }
+    }
+
+    @Test
+    void testFailedWriteIsRolledBack() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+        WriteAheadLog wal = new WriteAheadLog(walDir, 1024 * 1024, 64);
+        try (DurableLinkRepository repository = new DurableLinkRepository(wal, 50)) {
+            repository.save(createTestLink("abc123", ownerId, 10));
+            repository.save(createTestLink("def456", ownerId, 20));
+            wal.close();
+
+            assertThrows(IllegalStateException.class, () -> repository.save(createTestLink("abc123", ownerId, 99)));
+            assertThrows(IllegalStateException.class, () -> repository.saveIfAbsent(createTestLink("ghi789", ownerId, 30)));
+            assertThrows(IllegalStateException.class, () -> repository.saveAllIfAbsent(
+                    List.of(createTestLink("jkl012", ownerId, 40))));
+            assertThrows(IllegalStateException.class, () -> repository.delete("def456"));
+
+            assertEquals(10, repository.findByShortCode("abc123").orElseThrow().getClickLimit());
+            assertFalse(repository.exists("ghi789"));
+            assertFalse(repository.exists("jkl012"));
+            assertTrue(repository.exists("def456"));
+            assertEquals(2, repository.findByOwnerId(ownerId).size());
+        }
+    }
+
+    private DurableLinkRepository openWithSnapshots() throws IOException {
+        return new DurableLinkRepository(new WriteAheadLog(walDir, 1024 * 1024, 64),
+                new SnapshotStore(walDir), 50, 0);
+    }
+
+    private DurableLinkRepository open() throws IOException {
+        return open(1024 * 1024);
+    }
+
+    private DurableLinkRepository open(long segmentSize) throws IOException {
+        return new DurableLinkRepository(new WriteAheadLog(walDir, segmentSize, 64), 50);
+    }
+
+    private Link createTestLink(String shortCode, UUID ownerId, int clickLimit) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(ownerId)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(clickLimit)
+                .build();
+    }
+}
@@ -0,0 +1,315 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryLinkRepositoryTest {
+
+    private InMemoryLinkRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryLinkRepository();
+    }
+
+    @Test
+    void testSaveAndFindByShortCode() {
+        Link link = createTestLink("abc123", UUID.randomUUID());
+        repository.save(link);
+
+        Optional<Link> found = repository.findByShortCode("abc123");
+
+        assertTrue(found.isPresent());
+        assertEquals(link, found.get());
+    }
+
+    @Test
+    void testSaveNullLink() {
+        assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+    }
+
+    @Test
+    void testFindByShortCodeNotFound() {
+        Optional<Link> found = repository.findByShortCode("nonexistent");
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void testFindByOwnerId() {
+        UUID ownerId = UUID.randomUUID();
+        Link link1 = createTestLink("abc123", ownerId);
+        Link link2 = createTestLink("def456", ownerId);
+        Link link3 = createTestLink("ghi789", UUID.randomUUID());
+
+        repository.save(link1);
+        repository.save(link2);
+        repository.save(link3);
+
+        List<Link> ownerLinks = repository.findByOwnerId(ownerId);
+
+        assertEquals(2, ownerLinks.size());
+        assertTrue(ownerLinks.contains(link1));
+        assertTrue(ownerLinks.contains(link2));
+        assertFalse(ownerLinks.contains(link3));
+    }
+
+    @Test
+    void testFindByOwnerIdNoLinks() {
+        UUID ownerId = UUID.randomUUID();
+        List<Link> links = repository.findByOwnerId(ownerId);
+
+        assertTrue(links.isEmpty());
+    }
+
+    @Test
+    void testFindByOwnerIdPages() {
+        UUID ownerId = UUID.randomUUID();
+        for (int i = 0; i < 25; i++) {
+            repository.save(createTestLink(String.format("code%02d", 24 - i), ownerId));
+        }
+        repository.save(createTestLink("other1", UUID.randomUUID()));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            LinkPage page = repository.findByOwnerId(ownerId, cursor, 10);
+            page.links().forEach(link -> seen.add(link.getShortCode()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, seen.size());
+        assertEquals("code00", seen.get(0));
+        assertEquals("code24", seen.get(24));
+        assertEquals(seen.stream().sorted().toList(), seen);
+    }
+
+    @Test
+    void testFindByOwnerIdPageSkipsDeletedCursor() {
+        UUID ownerId = UUID.randomUUID();
+        repository.save(createTestLink("aaa111", ownerId));
+        repository.save(createTestLink("bbb222", ownerId));
+        repository.save(createTestLink("ccc333", ownerId));
+
+        LinkPage first = repository.findByOwnerId(ownerId, null, 2);
+        assertEquals("bbb222", first.nextCursor());
+        repository.delete("bbb222");
+
+        LinkPage second = repository.findByOwnerId(ownerId, first.nextCursor(), 2);
+        assertEquals(1, second.links().size());
+        assertEquals("ccc333", second.links().get(0).getShortCode());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testStreamByOwnerId() {
+        UUID ownerId = UUID.randomUUID();
+        int total = LinkRepository.STREAM_PAGE_SIZE * 2 + 7;
+        for (int i = 0; i < total; i++) {
+            repository.save(createTestLink(String.format("s%05d", i), ownerId));
+        }
+
+        List<String> codes = repository.streamByOwnerId(ownerId).map(Link::getShortCode).toList();
+
+        assertEquals(total, codes.size());
+        assertEquals(codes.stream().sorted().toList(), codes);
+        assertEquals(0, repository.streamByOwnerId(UUID.randomUUID()).count());
+    }
+
+    @Test
+    void testSaveMovesLinkToNewOwner() {
+        UUID firstOwner = UUID.randomUUID();
+        UUID secondOwner = UUID.randomUUID();
+        repository.save(createTestLink("abc123", firstOwner));
+
+        repository.save(createTestLink("abc123", secondOwner));
+
+        assertTrue(repository.findByOwnerId(firstOwner).isEmpty());
+        assertEquals(1, repository.findByOwnerId(secondOwner).size());
+    }
+
+    @Test
+    void testDelete() {
+        Link link = createTestLink("abc123", UUID.randomUUID());
+        repository.save(link);
+
+        assertTrue(repository.exists("abc123"));
+
+        boolean deleted = repository.delete("abc123");
+
+        assertTrue(deleted);
+        assertFalse(repository.exists("abc123"));
+        assertTrue(repository.findByShortCode("abc123").isEmpty());
+    }
+
+    @Test
+    void testDeleteNonexistent() {
+        boolean deleted = repository.delete("nonexistent");
+        assertFalse(deleted);
+    }
+
+    @Test
+    void testExists() {
+        Link link = createTestLink("abc123", UUID.randomUUID());
+
+        assertFalse(repository.exists("abc123"));
+
+        repository.save(link);
+
+        assertTrue(repository.exists("abc123"));
+    }
+
+    @Test
+    void testFindAll() {
+        Link link1 = createTestLink("abc123", UUID.randomUUID());
+        Link link2 = createTestLink("def456", UUID.randomUUID());
+        Link link3 = createTestLink("ghi789", UUID.randomUUID());
+
+        repository.save(link1);
+        repository.save(link2);
+        repository.save(link3);
+
+        List<Link> allLinks = repository.findAll();
+
+        assertEquals(3, allLinks.size());
+        assertTrue(allLinks.contains(link1));
+        assertTrue(allLinks.contains(link2));
+        assertTrue(allLinks.contains(link3));
+    }
+
+    @Test
+    void testCount() {
+        assertEquals(0, repository.count());
+
+        repository.save(createTestLink("abc123", UUID.randomUUID()));
+        assertEquals(1, repository.count());
+
+        repository.save(createTestLink("def456", UUID.randomUUID()));
+        assertEquals(2, repository.count());
+
+        repository.delete("abc123");
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testClear() {
+        repository.save(createTestLink("abc123", UUID.randomUUID()));
+        repository.save(createTestLink("def456", UUID.randomUUID()));
+
+        assertEquals(2, repository.count());
+
+        repository.clear();
+
+        assertEquals(0, repository.count());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void testUpdateLink() {
+        UUID ownerId = UUID.randomUUID();
+        Link link = createTestLink("abc123", ownerId);
+        repository.save(link);
+
+        // Create updated version
+        Link updatedLink = new Link.Builder()
+                .shortCode("abc123")
+                .originalUrl("https://updated.com")
+                .ownerId(ownerId)
+                .expiresAt(Instant.now().plusSeconds(7200))
+                .clickLimit(200)
+                .build();
+
+        repository.save(updatedLink);
+
+        Optional<Link> found = repository.findByShortCode("abc123");
+        assertTrue(found.isPresent());
+        assertEquals("https://updated.com", found.get().getOriginalUrl());
+        assertEquals(200, found.get().getClickLimit());
+    }
+
+    @Test
+    void testCodesThatCannotBePacked() {
+        UUID ownerId = UUID.randomUUID();
+        repository.save(createTestLink("custom-alias", ownerId));
+        repository.save(createTestLink("abc123", ownerId));
+
+        assertTrue(repository.exists("custom-alias"));
+        assertEquals(2, repository.count());
+        assertEquals(2, repository.findAll().size());
+        assertEquals(2, repository.findByOwnerId(ownerId).size());
+        assertTrue(repository.delete("custom-alias"));
+        assertFalse(repository.exists("custom-alias"));
+    }
+
+    @Test
+    void testSaveIfAbsentDoesNotOverwrite() {
+        UUID firstOwner = UUID.randomUUID();
+        assertTrue(repository.saveIfAbsent(createTestLink("abc123", firstOwner)));
+        assertFalse(repository.saveIfAbsent(createTestLink("abc123", UUID.randomUUID())));
+
+        assertEquals(firstOwner, repository.findByShortCode("abc123").orElseThrow().getOwnerId());
+        assertEquals(1, repository.findByOwnerId(firstOwner).size());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void testFindExpiredReturnsOnlyDueLinksInExpiryOrder() {
+        Instant now = Instant.now();
+        repository.save(createTestLink("later", UUID.randomUUID(), now.minusSeconds(10)));
+        repository.save(createTestLink("first", UUID.randomUUID(), now.minusSeconds(60)));
+        repository.save(createTestLink("valid", UUID.randomUUID(), now.plusSeconds(60)));
+
+        List<Link> expired = repository.findExpired(now, 10);
+
+        assertEquals(List.of("first", "later"), expired.stream().map(Link::getShortCode).toList());
+        assertEquals(1, repository.findExpired(now, 1).size());
+    }
+
+    @Test
+    void testFindExpiredFollowsUpdatesAndDeletes() {
+        Instant now = Instant.now();
+        UUID ownerId = UUID.randomUUID();
+        repository.save(createTestLink("extended", ownerId, now.minusSeconds(60)));
+        repository.save(createTestLink("deleted", ownerId, now.minusSeconds(60)));
+
+        // Extending the expiry time moves the link out of the due range
+        repository.save(createTestLink("extended", ownerId, now.plusSeconds(60)));
+        repository.delete("deleted");
+
+        assertTrue(repository.findExpired(now, 10).isEmpty());
+        assertEquals(1, repository.findExpired(now.plusSeconds(120), 10).size());
+    }
+
+    private Link createTestLink(String shortCode, UUID ownerId, Instant expiresAt) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(ownerId)
+                .createdAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .clickLimit(100)
+                .build();
+    }
+
+    private Link createTestLink(String shortCode, UUID ownerId) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(ownerId)
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(100)
+                .build();
+    }
+}
+
@@ -0,0 +1,28 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.config.AppConfiguration;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkRepositoryFactoryTest {
+
+    private final AppConfiguration config = new AppConfiguration();
+
+    @Test
+    void testDefaultEngineIsInMemory() {
+        assertEquals(LinkRepositoryFactory.ENGINE_MEMORY, config.getRepositoryEngine());
+        assertInstanceOf(InMemoryLinkRepository.class, LinkRepositoryFactory.create(config));
+    }
+
+    @Test
+    void testEngineNameIsCaseInsensitive() {
+        assertInstanceOf(InMemoryLinkRepository.class, LinkRepositoryFactory.create(" Memory ", config));
+    }
+
+    @Test
+    void testUnknownEngine() {
+        assertThrows(IllegalArgumentException.class, () -> LinkRepositoryFactory.create("redis", config));
+        assertThrows(IllegalArgumentException.class, () -> LinkRepositoryFactory.create(null, config));
+    }
+}
@@ -0,0 +1,114 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.util.Base62;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLinkMapTest {
+
+    private final LongLinkMap map = new LongLinkMap();
+
+    @Test
+    void testPutGetRemove() {
+        Link link = createTestLink("abc123");
+        long key = Base62.pack("abc123");
+
+        assertNull(map.put(key, link));
+        assertSame(link, map.get(key));
+        assertNull(map.get(Base62.pack("abc124")));
+        assertEquals(1, map.size());
+
+        assertSame(link, map.remove(key));
+        assertNull(map.get(key));
+        assertNull(map.remove(key));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testPutIfAbsentKeepsExisting() {
+        Link first = createTestLink("abc123");
+        long key = Base62.pack("abc123");
+
+        assertNull(map.putIfAbsent(key, first));
+        assertSame(first, map.putIfAbsent(key, createTestLink("abc123")));
+        assertSame(first, map.get(key));
+
+        // A removed key can be reserved again
+        map.remove(key);
+        Link second = createTestLink("abc123");
+        assertNull(map.putIfAbsent(key, second));
+        assertSame(second, map.get(key));
+    }
+
+    @Test
+    void testGrowsAndSurvivesChurn() {
+        for (int i = 0; i < 50_000; i++) {
+            map.put(Base62.pack(Base62.encode(i, 6)), createTestLink(Base62.encode(i, 6)));
+        }
+        for (int i = 0; i < 50_000; i += 2) {
+            assertNotNull(map.remove(Base62.pack(Base62.encode(i, 6))));
+        }
+
+        assertEquals(25_000, map.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals(i % 2 == 1, map.get(Base62.pack(Base62.encode(i, 6))) != null);
+        }
+
+        AtomicInteger visited = new AtomicInteger();
+        map.forEach(link -> visited.incrementAndGet());
+        assertEquals(25_000, visited.get());
+    }
+
+    @Test
+    void testConcurrentReadersSeeStableKeys() throws InterruptedException {
+        Link stable = createTestLink("stable");
+        long stableKey = Base62.pack("stable");
+        map.put(stableKey, stable);
+
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                // Writers grow and rebuild segments while the readers look up a fixed key
+                for (int i = 0; i < 20_000; i++) {
+                    long key = Base62.pack(Base62.encode(i * 4L + offset, 7));
+                    map.put(key, stable);
+                    map.remove(key);
+                }
+            }));
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    if (map.get(stableKey) != stable) {
+                        misses.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, misses.get());
+        assertEquals(1, map.size());
+    }
+
+    private Link createTestLink(String shortCode) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(UUID.randomUUID())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(100)
+                .build();
+    }
+}
@@ -0,0 +1,396 @@
+package com.linkshorter.repository;
+
+import com.linkshorter.model.ClickResult;
+import com.linkshorter.model.Link;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapLinkRepositoryTest {
+
+    @TempDir
+    Path storeDir;
+
+    @Test
+    void testSaveAndFind() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (OffHeapLinkRepository repository = open(64)) {
+            repository.save(createTestLink("abc123", ownerId, 10));
+
+            Optional<Link> found = repository.findByShortCode("abc123");
+            assertTrue(found.isPresent());
+            assertEquals("https://example.com/abc123", found.get().getOriginalUrl());
+            assertEquals(ownerId, found.get().getOwnerId());
+            assertEquals(10, found.get().getClickLimit());
+            assertTrue(repository.exists("abc123"));
+            assertFalse(repository.exists("zzz999"));
+            assertEquals(1, repository.count());
+        }
+    }
+
+    @Test
+    void testLinksSurviveRestart() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (OffHeapLinkRepository repository = open(64)) {
+            repository.save(createTestLink("abc123", ownerId, 10));
+            repository.save(createTestLink("def456", ownerId, 20));
+            repository.save(createTestLink("ghi789", UUID.randomUUID(), 30));
+            repository.delete("def456");
+        }
+
+        try (OffHeapLinkRepository repository = open(64)) {
+            assertEquals(2, repository.count());
+            assertFalse(repository.exists("def456"));
+            List<Link> ownerLinks = repository.findByOwnerId(ownerId);
+            assertEquals(1, ownerLinks.size());
+            assertEquals("abc123", ownerLinks.get(0).getShortCode());
+        }
+    }
+
+    @Test
+    void testClicksAreStoredInPlace() throws IOException {
+        try (OffHeapLinkRepository repository = open(64)) {
+            repository.save(createTestLink("abc123", UUID.randomUUID(), 2));
+
+            assertEquals(ClickResult.ACCEPTED, repository.findByShortCode("abc123").orElseThrow().registerClick());
+            assertEquals(ClickResult.LIMIT_REACHED, repository.findByShortCode("abc123").orElseThrow().registerClick());
+
+            Link exhausted = repository.findByShortCode("abc123").orElseThrow();
+            assertEquals(2, exhausted.getClickCount());
+            assertFalse(exhausted.isActive());
+            assertEquals(ClickResult.REJECTED, exhausted.registerClick());
+        }
+
+        try (OffHeapLinkRepository repository = open(64)) {
+            assertEquals(2, repository.findByShortCode("abc123").orElseThrow().getClickCount());
+        }
+    }
+
+    @Test
+    void testStaleViewStopsCountingAfterUpdate() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+
+        try (OffHeapLinkRepository repository = open(64)) {
+            repository.save(createTestLink("abc123", ownerId, 5));
+            Link stale = repository.findByShortCode("abc123").orElseThrow();
+
+            repository.save(createTestLink("abc123", ownerId, 50));
+
+            assertEquals(ClickResult.REJECTED, stale.registerClick());
+            assertEquals(50, repository.findByShortCode("abc123").orElseThrow().getClickLimit());
+            assertEquals(1, repository.count());
+        }
+    }
+
+    @Test
+    void testDeleteKeepsCollidingCodesReachable() throws IOException {
+        try (OffHeapLinkRepository repository = open(16)) {
+            // 12 links in 16 slots guarantee long probe chains
+            for (int i = 0; i < 12; i++) {
+                repository.save(createTestLink("code" + i, UUID.randomUUID(), 10));
+            }
+            for (int i = 0; i < 12; i += 2) {
+                assertTrue(repository.delete("code" + i));
+            }
+
+            assertEquals(6, repository.count());
+            for (int i = 0; i < 12; i++) {
+                assertEquals(i % 2 == 1, repository.exists("code" + i), "code" + i);
+            }
+        }
+    }
+
+    @Test
+    void testViewsFollowLinksMovedByDelete() throws IOException {
+        try (OffHeapLinkRepository repository = open(16)) {
+            List<Link> views = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                repository.save(createTestLink("code" + i, UUID.randomUUID(), 10));
+                views.add(repository.findByShortCode("code" + i).orElseThrow());
+            }
+            for (int i = 0; i < 12; i += 4) {
+                assertTrue(repository.delete("code" + i));
+            }
+
+            for (int i = 0; i < 12; i++) {
+                if (i % 4 == 0) {
+                    assertEquals(ClickResult.REJECTED, views.get(i).registerClick(), "code" + i);
+                } else {
+                    assertEquals(ClickResult.ACCEPTED, views.get(i).registerClick(), "code" + i);
+                    assertEquals(1, views.get(i).getClickCount());
+                    assertEquals(1, repository.findByShortCode("code" + i).orElseThrow().getClickCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testClicksRacingDeletesLandOnTheirOwnLink() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Path roundDir = storeDir.resolve("round" + round);
+            try (OffHeapLinkRepository repository = new OffHeapLinkRepository(roundDir, 16)) {
+                // Odd codes are clicked while the even ones in the same probe chains are deleted
+                for (int i = 0; i < 12; i++) {
+                    repository.save(createTestLink("code" + i, UUID.randomUUID(), 1_000_000));
+                }
+                List<Link> views = new ArrayList<>();
+                for (int i = 1; i < 12; i += 2) {
+                    views.add(repository.findByShortCode("code" + i).orElseThrow());
+                }
+
+                AtomicInteger rejected = new AtomicInteger();
+                int clicksPerLink = 2000;
+                List<Thread> threads = new ArrayList<>();
+                for (Link view : views) {
+                    Thread thread = new Thread(() -> {
+                        for (int i = 0; i < clicksPerLink; i++) {
+                            if (view.registerClick() == ClickResult.REJECTED) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    });
+                    threads.add(thread);
+                    thread.start();
+                }
+                for (int i = 0; i < 12; i += 2) {
+                    repository.delete("code" + i);
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+
+                assertEquals(0, rejected.get());
+                for (int i = 1; i < 12; i += 2) {
+                    assertEquals(clicksPerLink, repository.findByShortCode("code" + i).orElseThrow().getClickCount(),
+                            "code" + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTornSlotsAreRepairedOnOpen() throws IOException {
+        try (OffHeapLinkRepository repository = open(16)) {
+            for (int i = 0; i < 12; i++) {
+                repository.save(createTestLink("code" + i, UUID.randomUUID(), 10));
+            }
+            repository.findByShortCode("code1").orElseThrow().registerClick();
+        }
+
+        // Killed while rewriting code1 and while clearing the slot of code0
+        Path indexFile = storeDir.resolve("links.idx");
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile)).order(ByteOrder.nativeOrder());
+        int rewritten = slotOf(index, "code1") * OffHeapLinkRepository.SLOT_SIZE;
+        int cleared = slotOf(index, "code0") * OffHeapLinkRepository.SLOT_SIZE;
+        index.putInt(rewritten, index.getInt(rewritten) + 1);
+        index.putInt(cleared, index.getInt(cleared) + 1);
+        index.put(cleared + 12, (byte) 0);
+        Files.write(indexFile, index.array());
+
+        try (OffHeapLinkRepository repository = open(16)) {
+            assertEquals(2, repository.getRepairedSlots());
+            assertEquals(11, repository.count());
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertFalse(repository.exists("code0"));
+                for (int i = 1; i < 12; i++) {
+                    assertTrue(repository.findByShortCode("code" + i).isPresent(), "code" + i);
+                }
+                Link link = repository.findByShortCode("code1").orElseThrow();
+                assertEquals(1, link.getClickCount());
+                assertEquals(ClickResult.ACCEPTED, link.registerClick());
+            });
+        }
+    }
+
+    @Test
+    void testFullStoreRejectsNewLinks() throws IOException {
+        try (OffHeapLinkRepository repository = open(16)) {
+            for (int i = 0; i < 12; i++) {
+                repository.save(createTestLink("code" + i, UUID.randomUUID(), 10));
+            }
+
+            assertThrows(IllegalStateException.class,
+                    () -> repository.save(createTestLink("overflow", UUID.randomUUID(), 10)));
+            // Updating an existing link still works
+            repository.save(createTestLink("code0", UUID.randomUUID(), 20));
+        }
+    }
+
+    @Test
+    void testRejectsUnsupportedShortCode() throws IOException {
+        try (OffHeapLinkRepository repository = open(16)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> repository.save(createTestLink("abcdefghijklmnopq", UUID.randomUUID(), 10)));
+            assertFalse(repository.exists("abcdefghijklmnopq"));
+        }
+    }
+
+    @Test
+    void testFindExpired() throws IOException {
+        try (OffHeapLinkRepository repository = open(64)) {
+            repository.save(createTestLink("valid", UUID.randomUUID(), 10));
+            repository.save(new Link.Builder()
+                    .shortCode("expired")
+                    .originalUrl("https://example.com/expired")
+                    .ownerId(UUID.randomUUID())
+                    .createdAt(Instant.now().minusSeconds(7200))
+                    .expiresAt(Instant.now().minusSeconds(3600))
+                    .clickLimit(10)
+                    .build());
+
+            List<Link> expired = repository.findExpired(Instant.now(), 10);
+            assertEquals(1, expired.size());
+            assertEquals("expired", expired.get(0).getShortCode());
+        }
+    }
+
+    @Test
+    void testExpiredBatchesResumeWhereTheyStopped() throws IOException {
+        try (OffHeapLinkRepository repository = open(64)) {
+            for (int i = 0; i < 40; i++) {
+                repository.save(new Link.Builder()
+                        .shortCode("code" + i)
+                        .originalUrl("https://example.com/" + i)
+                        .ownerId(UUID.randomUUID())
+                        .expiresAt(Instant.now().plusSeconds(i < 30 ? -3600 : 3600))
+                        .clickLimit(10)
+                        .build());
+            }
+            assertEquals(30, repository.countExpired(Instant.now()));
+
+            // Nothing is deleted between batches, so a scan restarting from the first slot would repeat links
+            Set<String> seen = new HashSet<>();
+            for (int batch = 0; batch < 3; batch++) {
+                for (Link link : repository.findExpired(Instant.now(), 10)) {
+                    assertTrue(seen.add(link.getShortCode()), link.getShortCode());
+                }
+            }
+            assertEquals(30, seen.size());
+
+            for (String code : seen) {
+                repository.delete(code);
+            }
+            assertEquals(0, repository.countExpired(Instant.now()));
+            assertTrue(repository.findExpired(Instant.now(), 10).isEmpty());
+        }
+    }
+
+    @Test
+    void testFindByOwnerIdPages() throws IOException {
+        try (OffHeapLinkRepository repository = open(64)) {
+            UUID ownerId = UUID.randomUUID();
+            repository.save(createTestLink("ccc333", ownerId, 10));
+            repository.save(createTestLink("aaa111", ownerId, 10));
+            repository.save(createTestLink("bbb222", ownerId, 10));
+
+            LinkPage first = repository.findByOwnerId(ownerId, null, 2);
+            assertEquals(List.of("aaa111", "bbb222"), first.links().stream().map(Link::getShortCode).toList());
+            LinkPage second = repository.findByOwnerId(ownerId, first.nextCursor(), 2);
+            assertEquals("ccc333", second.links().get(0).getShortCode());
+            assertFalse(second.hasNext());
+            assertEquals(3, repository.streamByOwnerId(ownerId).count());
+        }
+    }
+
+    @Test
+    void testOwnerPagesAndStreamAreOrdered() throws IOException {
+        try (OffHeapLinkRepository repository = open(2048)) {
+            UUID ownerId = UUID.randomUUID();
+            int total = LinkRepository.STREAM_PAGE_SIZE * 2 + 7;
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < total; i++) {
+                repository.save(createTestLink("u" + i, ownerId, 10));
+                expected.add("u" + i);
+                repository.save(createTestLink("x" + i, UUID.randomUUID(), 10));
+            }
+            expected.sort(null);
+
+            List<String> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                LinkPage page = repository.findByOwnerId(ownerId, cursor, 100);
+                page.links().forEach(link -> paged.add(link.getShortCode()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertEquals(expected, paged);
+            assertEquals(expected, repository.streamByOwnerId(ownerId).map(Link::getShortCode).toList());
+            assertEquals(0, repository.streamByOwnerId(UUID.randomUUID()).count());
+        }
+    }
+
+    @Test
+    void testConcurrentClicksRespectLimit() throws Exception {
+        try (OffHeapLinkRepository repository = open(64)) {
+            repository.save(createTestLink("abc123", UUID.randomUUID(), 1000));
+
+            AtomicInteger accepted = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        Link link = repository.findByShortCode("abc123").orElseThrow();
+                        if (link.registerClick() != ClickResult.REJECTED) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(1000, accepted.get());
+            assertEquals(1000, repository.findByShortCode("abc123").orElseThrow().getClickCount());
+        }
+    }
+
+    private static int slotOf(ByteBuffer index, String shortCode) {
+        byte[] code = shortCode.getBytes(StandardCharsets.US_ASCII);
+        for (int slot = 0; slot < index.capacity() / OffHeapLinkRepository.SLOT_SIZE; slot++) {
+            int base = slot * OffHeapLinkRepository.SLOT_SIZE;
+            if (index.get(base + 12) == 1 && index.get(base + 13) == code.length
+                    && Arrays.equals(code, Arrays.copyOfRange(index.array(), base + 64, base + 64 + code.length))) {
+                return slot;
+            }
+        }
+        throw new AssertionError("No slot for " + shortCode);
+    }
+
+    private OffHeapLinkRepository open(int capacity) throws IOException {
+        return new OffHeapLinkRepository(storeDir, capacity);
+    }
+
+    private Link createTestLink(String shortCode, UUID ownerId, int clickLimit) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(ownerId)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(clickLimit)
+                .build();
+    }
+}
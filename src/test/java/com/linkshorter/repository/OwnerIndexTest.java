@@ -0,0 +1,114 @@
+package com.linkshorter.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OwnerIndexTest {
+
+    private final OwnerIndex index = new OwnerIndex();
+
+    @Test
+    void testAddGetRemove() {
+        UUID owner = UUID.randomUUID();
+
+        index.add(owner, "abc123");
+        index.add(owner, "def456");
+        index.add(owner, "abc123");
+
+        assertEquals(Set.of("abc123", "def456"), new HashSet<>(index.get(owner)));
+        assertTrue(index.get(UUID.randomUUID()).isEmpty());
+
+        index.remove(owner, "abc123");
+        assertEquals(List.of("def456"), index.get(owner));
+        index.remove(owner, "missing");
+        assertEquals(List.of("def456"), index.get(owner));
+    }
+
+    @Test
+    void testEmptyOwnersAreRemoved() {
+        UUID owner = UUID.randomUUID();
+        index.add(owner, "abc123");
+        assertEquals(1, index.owners());
+
+        index.remove(owner, "abc123");
+
+        assertEquals(0, index.owners());
+        assertTrue(index.get(owner).isEmpty());
+    }
+
+    @Test
+    void testPowerUserGrowsAndShrinks() {
+        UUID owner = UUID.randomUUID();
+        int links = OwnerIndex.INLINE_MAX * 10;
+        for (int i = 0; i < links; i++) {
+            index.add(owner, "code" + i);
+        }
+        assertEquals(links, index.get(owner).size());
+
+        for (int i = 0; i < links - 1; i++) {
+            index.remove(owner, "code" + i);
+        }
+        assertEquals(List.of("code" + (links - 1)), index.get(owner));
+    }
+
+    @Test
+    void testPageInOrder() {
+        UUID owner = UUID.randomUUID();
+        for (String code : List.of("d", "b", "a", "c", "e")) {
+            index.add(owner, code);
+        }
+
+        assertEquals(List.of("a", "b"), index.page(owner, null, 2));
+        assertEquals(List.of("c", "d"), index.page(owner, "b", 2));
+        assertEquals(List.of("c", "d", "e"), index.page(owner, "bb", 10));
+        assertTrue(index.page(owner, "e", 10).isEmpty());
+
+        // Same order once the owner has switched to a set
+        for (int i = 0; i < OwnerIndex.INLINE_MAX * 2; i++) {
+            index.add(owner, "x" + (char) ('a' + i));
+        }
+        assertEquals(List.of("e", "xa", "xb"), index.page(owner, "d", 3));
+    }
+
+    @Test
+    void testManyOwnersWithChurn() {
+        List<UUID> owners = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            UUID owner = UUID.randomUUID();
+            owners.add(owner);
+            index.add(owner, "code" + i);
+        }
+        // Removing every other owner shifts entries within probe chains
+        for (int i = 0; i < owners.size(); i += 2) {
+            index.remove(owners.get(i), "code" + i);
+        }
+
+        assertEquals(10_000, index.owners());
+        for (int i = 0; i < owners.size(); i++) {
+            List<String> codes = index.get(owners.get(i));
+            if (i % 2 == 0) {
+                assertTrue(codes.isEmpty());
+            } else {
+                assertEquals(List.of("code" + i), codes);
+            }
+        }
+    }
+
+    @Test
+    void testClear() {
+        UUID owner = UUID.randomUUID();
+        index.add(owner, "abc123");
+
+        index.clear();
+
+        assertEquals(0, index.owners());
+        assertTrue(index.get(owner).isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package com.linkshorter.service;
+
+import com.linkshorter.config.AppConfiguration;
+import com.linkshorter.model.Link;
+import com.linkshorter.model.User;
+import com.linkshorter.repository.InMemoryLinkRepository;
+import com.linkshorter.repository.LinkRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CleanupSchedulerTest {
+
+    private LinkRepository repository;
+    private LinkService linkService;
+    private CleanupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryLinkRepository();
+        AppConfiguration config = new AppConfiguration();
+        linkService = new LinkService(repository, new ShortCodeGenerator(config.getShortCodeLength()),
+                new NotificationService(false), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void testIncrementalCleanupRemovesBacklogInBatches() throws InterruptedException {
+        User user = User.createNew();
+        for (int i = 0; i < 2500; i++) {
+            repository.save(createExpiredLink("exp" + i, user));
+        }
+        linkService.createLink("https://valid.com", user);
+
+        scheduler = new CleanupScheduler(linkService, CleanupScheduler.MODE_INCREMENTAL, 20, 1000, 100, 1);
+        scheduler.start();
+
+        awaitCount(1);
+
+        assertEquals(1, repository.count());
+        assertEquals(2500, scheduler.getTotalRemoved());
+        assertTrue(scheduler.getBatchCount() >= 3);
+        assertEquals(0, scheduler.getBacklog());
+    }
+
+    @Test
+    void testFullCleanup() throws InterruptedException {
+        User user = User.createNew();
+        for (int i = 0; i < 100; i++) {
+            repository.save(createExpiredLink("exp" + i, user));
+        }
+
+        scheduler = new CleanupScheduler(linkService, CleanupScheduler.MODE_FULL, 20, 1000, 100, 1);
+        scheduler.start();
+
+        awaitCount(0);
+
+        assertEquals(100, scheduler.getTotalRemoved());
+    }
+
+    @Test
+    void testCleanupWithTimeBudget() {
+        User user = User.createNew();
+        for (int i = 0; i < 50; i++) {
+            repository.save(createExpiredLink("exp" + i, user));
+        }
+
+        assertEquals(50, linkService.countExpiredLinks());
+        // A zero budget still makes progress with one link per call
+        assertEquals(1, linkService.cleanupExpiredLinks(10, 0));
+        assertEquals(10, linkService.cleanupExpiredLinks(10, Long.MAX_VALUE / 2));
+        assertEquals(39, linkService.countExpiredLinks());
+    }
+
+    @Test
+    void testInvalidMode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CleanupScheduler(linkService, "sometimes", 1000, 10, 5, 1));
+    }
+
+    private void awaitCount(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (repository.count() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Link createExpiredLink(String shortCode, User owner) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com/" + shortCode)
+                .ownerId(owner.getId())
+                .createdAt(Instant.now().minusSeconds(7200))
+                .expiresAt(Instant.now().minusSeconds(3600))
+                .clickLimit(100)
+                .build();
+    }
+}
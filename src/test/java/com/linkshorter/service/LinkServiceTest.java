@@ -3,11 +3,20 @@ package com.linkshorter.service;
 import com.linkshorter.config.AppConfiguration;
 import com.linkshorter.model.Link;
 import com.linkshorter.model.User;
+import com.linkshorter.repository.InMemoryLinkRepository;
+import com.linkshorter.repository.LinkPage;
 import com.linkshorter.repository.LinkRepository;
+import com.linkshorter.util.ManualTimeSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +28,12 @@ class LinkServiceTest {
     private LinkRepository repository;
     private User user;
 
+    @TempDir
+    Path directory;
+
     @BeforeEach
     void setUp() {
-        repository = new LinkRepository();
+        repository = new InMemoryLinkRepository();
         AppConfiguration config = new AppConfiguration();
         ShortCodeGenerator codeGenerator = new ShortCodeGenerator(config.getShortCodeLength());
         NotificationService notificationService = new NotificationService(false); // Disable for tests
@@ -78,6 +90,127 @@ class LinkServiceTest {
         );
     }
 
+    @Test
+    void testCreateLinks() {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            urls.add("https://example.com/campaign/" + i);
+        }
+        urls.add("not-a-url");
+        urls.add("https://example.com/campaign/7");
+        urls.add("");
+
+        BatchCreateResult result = linkService.createLinks(urls, user, 5);
+
+        assertEquals(2501, result.getCreatedCount());
+        assertEquals(List.of("not-a-url", ""), result.rejectedUrls());
+        assertEquals(2501, repository.count());
+        assertEquals(2501, result.created().stream().map(Link::getShortCode).distinct().count());
+        assertEquals("https://example.com/campaign/0", result.created().get(0).getOriginalUrl());
+        assertEquals("https://example.com/campaign/7", result.created().get(2500).getOriginalUrl());
+        assertEquals(5, result.created().get(1234).getClickLimit());
+        assertTrue(linkService.followLink(result.created().get(2500).getShortCode()).isPresent());
+    }
+
+    @Test
+    void testCreateLinksReportsEachFailedDuplicate() {
+        String dup = "https://example.com/dup";
+        // Stores the first link for the duplicated URL and refuses every later one
+        InMemoryLinkRepository store = new InMemoryLinkRepository() {
+            private boolean dupStored;
+
+            @Override
+            public synchronized boolean saveIfAbsent(Link link) {
+                if (dup.equals(link.getOriginalUrl())) {
+                    if (dupStored) {
+                        return false;
+                    }
+                    dupStored = true;
+                }
+                return super.saveIfAbsent(link);
+            }
+        };
+        AppConfiguration config = new AppConfiguration();
+        LinkService service = new LinkService(store, new ShortCodeGenerator(config.getShortCodeLength()),
+                new NotificationService(false), config);
+
+        BatchCreateResult result = service.createLinks(List.of(dup, "https://example.com/a", dup, dup), user, 5);
+
+        assertEquals(2, result.getCreatedCount());
+        assertEquals(List.of(dup, dup), result.rejectedUrls());
+        assertEquals(2, store.count());
+    }
+
+    @Test
+    void testCreateLinksEmpty() {
+        BatchCreateResult result = linkService.createLinks(List.of(), user);
+
+        assertEquals(0, result.getCreatedCount());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testExportAndRestore() throws IOException {
+        Link limited = linkService.createLink("https://example.com/a?q=\"x\",y", user, 5);
+        Link other = linkService.createLink("https://example.com/b", User.createNew(), 10);
+        linkService.followLink(limited.getShortCode());
+        linkService.followLink(limited.getShortCode());
+
+        for (String name : List.of("links.csv", "links.ndjson")) {
+            Path file = directory.resolve(name);
+            assertEquals(2, linkService.exportLinks(file));
+
+            InMemoryLinkRepository target = new InMemoryLinkRepository();
+            AppConfiguration config = new AppConfiguration();
+            LinkService restoring = new LinkService(target, new ShortCodeGenerator(config.getShortCodeLength()),
+                    new NotificationService(false), config);
+            RestoreResult result = restoring.restoreLinks(file);
+
+            assertEquals(2, result.restored(), name);
+            Link restored = target.findByShortCode(limited.getShortCode()).orElseThrow();
+            assertEquals(limited.getOriginalUrl(), restored.getOriginalUrl());
+            assertEquals(user.getId(), restored.getOwnerId());
+            assertEquals(2, restored.getClickCount());
+            assertEquals(5, restored.getClickLimit());
+            assertEquals(limited.getExpiresAtMillis(), restored.getExpiresAtMillis());
+            assertEquals(other.getOwnerId(), target.findByShortCode(other.getShortCode()).orElseThrow().getOwnerId());
+        }
+    }
+
+    @Test
+    void testRestoreSkipsTakenExpiredAndMalformedLines() throws IOException {
+        Link existing = linkService.createLink("https://example.com/kept", user);
+        long future = System.currentTimeMillis() + 3_600_000;
+        Path file = directory.resolve("backup.ndjson");
+        Files.writeString(file, String.join("\n",
+                line(existing.getShortCode(), "https://example.com/other", future),
+                line("Fresh1", "https://example.com/fresh", future),
+                line("Stale1", "https://example.com/stale", 1000),
+                "{\"shortCode\":\"Broken\"",
+                ""));
+
+        RestoreResult result = linkService.restoreLinks(file);
+
+        assertEquals(1, result.restored());
+        assertEquals(1, result.duplicates());
+        assertEquals(1, result.expired());
+        assertEquals(1, result.rejected());
+        assertTrue(result.errors().get(0).startsWith("line 4"));
+        assertEquals("https://example.com/kept", linkService.getLink(existing.getShortCode()).orElseThrow().getOriginalUrl());
+        assertTrue(repository.exists("Fresh1"));
+        assertFalse(repository.exists("Stale1"));
+    }
+
+    @Test
+    void testExportRejectsUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> linkService.exportLinks(directory.resolve("links.xml")));
+    }
+
+    private String line(String shortCode, String url, long expiresAt) {
+        return "{\"shortCode\":\"" + shortCode + "\",\"originalUrl\":\"" + url + "\",\"ownerId\":\"" + user.getId()
+                + "\",\"createdAt\":0,\"expiresAt\":" + expiresAt + ",\"clickLimit\":10,\"clickCount\":0}";
+    }
+
     @Test
     void testFollowLink() {
         Link link = linkService.createLink("https://example.com", user);
@@ -127,6 +260,76 @@ class LinkServiceTest {
         assertTrue(url.isEmpty());
     }
 
+    @Test
+    void testRedirectOutcomes() {
+        RedirectResult result = new RedirectResult();
+        Link link = linkService.createLink("https://example.com/once", user, 1);
+
+        assertSame(result, linkService.redirect(link.getShortCode(), result));
+        assertEquals(RedirectOutcome.REDIRECT, result.getOutcome());
+        assertEquals("https://example.com/once", result.getTargetUrl());
+
+        linkService.redirect(link.getShortCode(), result);
+        assertEquals(RedirectOutcome.LIMIT_REACHED, result.getOutcome());
+        assertNull(result.getTargetUrl());
+
+        linkService.redirect("nonexistent", result);
+        assertEquals(RedirectOutcome.NOT_FOUND, result.getOutcome());
+    }
+
+    @Test
+    void testRedirectInactiveAndExpired() {
+        RedirectResult result = new RedirectResult();
+        Link inactive = linkService.createLink("https://example.com/inactive", user);
+        inactive.deactivate();
+
+        assertEquals(RedirectOutcome.INACTIVE, linkService.redirect(inactive.getShortCode(), result).getOutcome());
+
+        Link expired = new Link.Builder()
+                .shortCode("expired")
+                .originalUrl("https://example.com/expired")
+                .ownerId(user.getId())
+                .expiresAt(Instant.now().minusSeconds(60))
+                .clickLimit(10)
+                .build();
+        repository.save(expired);
+
+        assertEquals(RedirectOutcome.EXPIRED, linkService.redirect("expired", result).getOutcome());
+        assertEquals(RedirectOutcome.EXPIRED, linkService.redirect("expired", result).getOutcome());
+        assertTrue(repository.exists("expired"));
+
+        assertEquals(1, linkService.cleanupExpiredLinks());
+        assertEquals(RedirectOutcome.NOT_FOUND, linkService.redirect("expired", result).getOutcome());
+    }
+
+    @Test
+    void testRedirectToExpiredLinkDoesNotWriteToStore() {
+        // A durable engine would wait for the log on every write
+        InMemoryLinkRepository store = new InMemoryLinkRepository() {
+            @Override
+            public boolean delete(String shortCode) {
+                throw new AssertionError("Redirect must not delete " + shortCode);
+            }
+
+            @Override
+            public void save(Link link) {
+                throw new AssertionError("Redirect must not save " + link.getShortCode());
+            }
+        };
+        AppConfiguration config = new AppConfiguration();
+        LinkService service = new LinkService(store, new ShortCodeGenerator(config.getShortCodeLength()),
+                new NotificationService(false), config);
+        store.saveIfAbsent(new Link.Builder()
+                .shortCode("expired")
+                .originalUrl("https://example.com/expired")
+                .ownerId(user.getId())
+                .expiresAt(Instant.now().minusSeconds(60))
+                .clickLimit(10)
+                .build());
+
+        assertEquals(RedirectOutcome.EXPIRED, service.redirect("expired", new RedirectResult()).getOutcome());
+    }
+
     @Test
     void testGetLink() {
         Link link = linkService.createLink("https://example.com", user);
@@ -149,6 +352,23 @@ class LinkServiceTest {
         assertEquals(3, userLinks.size());
     }
 
+    @Test
+    void testGetUserLinksPaged() {
+        for (int i = 0; i < 5; i++) {
+            linkService.createLink("https://example" + i + ".com", user);
+        }
+
+        LinkPage first = linkService.getUserLinks(user, null, 3);
+        LinkPage second = linkService.getUserLinks(user, first.nextCursor(), 3);
+
+        assertEquals(3, first.links().size());
+        assertTrue(first.hasNext());
+        assertEquals(2, second.links().size());
+        assertFalse(second.hasNext());
+        assertEquals(5, linkService.streamUserLinks(user).count());
+        assertThrows(IllegalArgumentException.class, () -> linkService.getUserLinks(user, null, 0));
+    }
+
     @Test
     void testGetUserLinksIsolation() {
         User user2 = User.createNew();
@@ -249,6 +469,29 @@ class LinkServiceTest {
         assertEquals(1, repository.count());
     }
 
+    @Test
+    void testExpiryFollowsServiceClock() {
+        ManualTimeSource clock = new ManualTimeSource(1_000_000L);
+        AppConfiguration config = new AppConfiguration();
+        LinkService service = new LinkService(repository, new ShortCodeGenerator(config.getShortCodeLength()),
+                new NotificationService(false), config, clock);
+
+        Link link = service.createLink("https://example.com", user);
+        assertEquals(1_000_000L + config.getDefaultTtl(), link.getExpiresAtMillis());
+        assertTrue(service.followLink(link.getShortCode()).isPresent());
+
+        clock.advance(Duration.ofMillis(config.getDefaultTtl()));
+        assertFalse(service.isExpired(link));
+        assertEquals(0, service.countExpiredLinks());
+
+        clock.advance(Duration.ofMillis(1));
+        assertTrue(service.isExpired(link));
+        assertEquals(1, service.countExpiredLinks());
+        assertTrue(service.followLink(link.getShortCode()).isEmpty());
+        assertEquals(1, service.cleanupExpiredLinks());
+        assertEquals(0, repository.count());
+    }
+
     @Test
     void testDifferentUsersGetDifferentShortCodes() {
         User user1 = User.createNew();
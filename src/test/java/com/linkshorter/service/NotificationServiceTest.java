@@ -0,0 +1,96 @@
+package com.linkshorter.service;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.notification.NotificationDispatcher;
+import com.linkshorter.notification.NotificationEvent;
+import com.linkshorter.notification.NotificationSink;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationServiceTest {
+
+    @Test
+    void testDisabledPublishesNothing() {
+        NotificationService service = new NotificationService(false);
+
+        service.notifyLinkNotFound("abc123");
+
+        assertEquals(0, service.getPublished());
+        assertTrue(service.getDispatchers().isEmpty());
+        assertTrue(service.flush(100));
+    }
+
+    @Test
+    void testEventsReachEverySink() {
+        RecordingSink first = new RecordingSink("first");
+        RecordingSink second = new RecordingSink("second");
+        try (NotificationService service = new NotificationService(List.of(first, second), 16,
+                NotificationDispatcher.POLICY_DROP, 4)) {
+            Link link = createTestLink();
+            service.notifyLinkCreated("abc123", "clck.ru/abc123", 10, 24);
+            service.notifyClickLimitReached(link);
+            service.notifyLinkExpired(link);
+            service.notifyLinkInactive(link, "test");
+            service.notifyLinkNotFound("missing");
+            service.notifyAccessDenied("abc123", UUID.randomUUID());
+
+            assertTrue(service.flush(5000));
+            assertEquals(6, service.getPublished());
+            assertEquals(12, service.getDelivered());
+            assertEquals(NotificationEvent.Type.LINK_CREATED, first.events.get(0).type());
+            assertEquals(NotificationEvent.Type.ACCESS_DENIED, second.events.get(5).type());
+        }
+    }
+
+    @Test
+    void testBlockPolicyLosesNothing() {
+        RecordingSink sink = new RecordingSink("slow");
+        try (NotificationService service = new NotificationService(List.of(sink), 2,
+                NotificationDispatcher.POLICY_BLOCK, 2)) {
+            for (int i = 0; i < 200; i++) {
+                service.notifyLinkNotFound("code" + i);
+            }
+
+            assertTrue(service.flush(5000));
+            assertEquals(200, sink.events.size());
+            assertEquals("code199", sink.events.get(199).shortCode());
+            assertEquals(0, service.getDropped());
+        }
+    }
+
+    private Link createTestLink() {
+        return new Link.Builder()
+                .shortCode("abc123")
+                .originalUrl("https://example.com")
+                .ownerId(UUID.randomUUID())
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(10)
+                .build();
+    }
+
+    private static class RecordingSink implements NotificationSink {
+        final List<NotificationEvent> events = new CopyOnWriteArrayList<>();
+        private final String name;
+
+        RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void write(List<NotificationEvent> batch) {
+            events.addAll(batch);
+        }
+    }
+}
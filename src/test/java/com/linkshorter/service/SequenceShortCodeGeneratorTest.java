@@ -0,0 +1,83 @@
+package com.linkshorter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceShortCodeGeneratorTest {
+
+    @Test
+    void testGenerateValidCodes() {
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(6, 16);
+
+        for (int i = 0; i < 100; i++) {
+            String code = generator.generateShortCode("https://example.com", UUID.randomUUID());
+            assertEquals(6, code.length());
+            assertTrue(generator.isValidShortCode(code));
+        }
+    }
+
+    @Test
+    void testPermutationIsBijective() {
+        // 62^2 = 3844 codes: every ID maps to a distinct value inside the domain
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(2, 16);
+
+        Set<Long> values = new HashSet<>();
+        for (long id = 0; id < 3844; id++) {
+            long value = generator.permute(id);
+            assertTrue(value >= 0 && value < 3844);
+            values.add(value);
+        }
+        assertEquals(3844, values.size());
+    }
+
+    @Test
+    void testCodesAreNotSequential() {
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(6, 1024);
+        UUID userId = UUID.randomUUID();
+
+        String first = generator.generateShortCode("https://example.com", userId);
+        String second = generator.generateShortCode("https://example.com", userId);
+
+        assertNotEquals(first, second);
+        assertNotEquals(first.substring(0, 5), second.substring(0, 5));
+    }
+
+    @Test
+    void testConcurrentGenerationIsUnique() throws InterruptedException {
+        SequenceShortCodeGenerator generator = new SequenceShortCodeGenerator(8, 64);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        UUID userId = UUID.randomUUID();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    codes.add(generator.generateShortCode("https://example.com", userId));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, codes.size());
+    }
+
+    @Test
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SequenceShortCodeGenerator(11, 16));
+        assertThrows(IllegalArgumentException.class, () -> new SequenceShortCodeGenerator(6, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SequenceShortCodeGenerator(6, 16).generateShortCode(null, UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.linkshorter.service;
+
+import com.linkshorter.model.Link;
+import com.linkshorter.repository.InMemoryLinkRepository;
+import com.linkshorter.repository.LinkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortCodeAllocatorTest {
+
+    private LinkRepository repository;
+    private ShortCodeGenerator generator;
+    private ShortCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryLinkRepository();
+        generator = new ShortCodeGenerator(6);
+        allocator = new ShortCodeAllocator(repository, generator, 3);
+    }
+
+    @Test
+    void testAllocateWithoutCollision() {
+        UUID ownerId = UUID.randomUUID();
+
+        Link link = allocator.allocate("https://example.com", ownerId, code -> createLink(code, ownerId));
+
+        assertEquals(generator.generateShortCode("https://example.com", ownerId), link.getShortCode());
+        assertTrue(repository.exists(link.getShortCode()));
+        assertEquals(1, allocator.getAllocations());
+        assertEquals(0, allocator.getCollisions());
+        assertEquals(0.0, allocator.getCollisionRate());
+    }
+
+    @Test
+    void testCollisionRetriesWithSaltedCode() {
+        UUID ownerId = UUID.randomUUID();
+        UUID otherOwner = UUID.randomUUID();
+        String firstChoice = generator.generateShortCode("https://example.com", ownerId);
+        repository.save(createLink(firstChoice, otherOwner));
+
+        Link link = allocator.allocate("https://example.com", ownerId, code -> createLink(code, ownerId));
+
+        assertNotEquals(firstChoice, link.getShortCode());
+        // The existing link is left untouched
+        assertEquals(otherOwner, repository.findByShortCode(firstChoice).orElseThrow().getOwnerId());
+        assertEquals(1, allocator.getCollisions());
+        assertEquals(1, allocator.getMaxRetries());
+        assertEquals(0.5, allocator.getCollisionRate());
+    }
+
+    @Test
+    void testSameUrlTwiceGetsDistinctCodes() {
+        UUID ownerId = UUID.randomUUID();
+
+        Link first = allocator.allocate("https://example.com", ownerId, code -> createLink(code, ownerId));
+        Link second = allocator.allocate("https://example.com", ownerId, code -> createLink(code, ownerId));
+
+        assertNotEquals(first.getShortCode(), second.getShortCode());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        UUID ownerId = UUID.randomUUID();
+        for (int attempt = 0; attempt < 3; attempt++) {
+            repository.save(createLink(generator.generateShortCode("https://example.com", ownerId, attempt), ownerId));
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> allocator.allocate("https://example.com", ownerId, code -> createLink(code, ownerId)));
+        assertEquals(1, allocator.getFailures());
+        assertEquals(3, allocator.getCollisions());
+    }
+
+    private Link createLink(String shortCode, UUID ownerId) {
+        return new Link.Builder()
+                .shortCode(shortCode)
+                .originalUrl("https://example.com")
+                .ownerId(ownerId)
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .clickLimit(100)
+                .build();
+    }
+}
@@ -132,6 +132,31 @@ class ShortCodeGeneratorTest {
         assertEquals(8, code8.length());
     }
 
+    @Test
+    void testSaltedAttemptsGetDifferentCodes() {
+        UUID userId = UUID.randomUUID();
+        String url = "https://example.com";
+
+        Set<String> codes = new HashSet<>();
+        for (int attempt = 0; attempt < 20; attempt++) {
+            String code = generator.generateShortCode(url, userId, attempt);
+            assertTrue(generator.isValidShortCode(code));
+            codes.add(code);
+        }
+
+        assertEquals(20, codes.size());
+        assertEquals(generator.generateShortCode(url, userId), generator.generateShortCode(url, userId, 0));
+    }
+
+    @Test
+    void testLongCodesAreValid() {
+        ShortCodeGenerator longGenerator = new ShortCodeGenerator(64);
+        String code = longGenerator.generateShortCode("https://example.com", UUID.randomUUID());
+
+        assertEquals(64, code.length());
+        assertTrue(longGenerator.isValidShortCode(code));
+    }
+
     @Test
     void testInvalidCodeLength() {
         assertThrows(IllegalArgumentException.class, () -> new ShortCodeGenerator(0));
@@ -0,0 +1,68 @@
+package com.linkshorter.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base62Test {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        for (long value : new long[]{0, 1, 61, 62, 3843, 56_800_235_583L}) {
+            String code = Base62.encode(value, 6);
+            assertEquals(6, code.length());
+            assertEquals(value, Base62.decode(code));
+        }
+        assertEquals("AAAAAB", Base62.encode(1, 6));
+    }
+
+    @Test
+    void testEncodeIntoByteArray() {
+        byte[] bytes = new byte[4];
+        Base62.encode(3843, bytes);
+
+        assertEquals("AA99", new String(bytes));
+    }
+
+    @Test
+    void testIsValid() {
+        assertTrue(Base62.isValid("abcXYZ019"));
+        assertFalse(Base62.isValid("abc-12"));
+        assertFalse(Base62.isValid("abcé12"));
+        assertFalse(Base62.isValid(""));
+        assertFalse(Base62.isValid(null));
+        assertEquals(-1, Base62.value('~'));
+        assertEquals(61, Base62.value('9'));
+    }
+
+    @Test
+    void testPackRoundTrip() {
+        for (String code : new String[]{"A", "abc123", "9999999999", "AAAAAA", "AAAAAAA"}) {
+            long packed = Base62.pack(code);
+            assertNotEquals(Base62.NOT_PACKABLE, packed);
+            assertEquals(code.length(), Base62.packedLength(packed));
+            assertEquals(code, Base62.unpack(packed));
+        }
+    }
+
+    @Test
+    void testPackIsInjective() {
+        // Leading 'A' digits (value 0) must not make codes of different lengths collide
+        Set<Long> packed = new HashSet<>();
+        for (String code : new String[]{"A", "AA", "AAA", "B", "BA", "AB"}) {
+            assertTrue(packed.add(Base62.pack(code)), code);
+        }
+    }
+
+    @Test
+    void testUnpackableCodes() {
+        assertEquals(Base62.NOT_PACKABLE, Base62.pack("abcdefghijk"));
+        assertEquals(Base62.NOT_PACKABLE, Base62.pack("ab-12"));
+        assertEquals(Base62.NOT_PACKABLE, Base62.pack(""));
+        assertThrows(IllegalArgumentException.class, () -> Base62.unpack(Base62.NOT_PACKABLE));
+        assertThrows(IllegalArgumentException.class, () -> Base62.decode("abcdefghijk"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.linkshorter.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoarseTimeSourceTest {
+
+    @Test
+    void testTracksSystemClock() throws InterruptedException {
+        try (CoarseTimeSource clock = new CoarseTimeSource()) {
+            long start = clock.currentTimeMillis();
+            assertTrue(Math.abs(System.currentTimeMillis() - start) < 1000);
+
+            Thread.sleep(50);
+
+            assertTrue(clock.currentTimeMillis() > start);
+        }
+    }
+
+    @Test
+    void testStopsAfterClose() throws InterruptedException {
+        CoarseTimeSource clock = new CoarseTimeSource();
+        clock.close();
+        Thread.sleep(20);
+        long stopped = clock.currentTimeMillis();
+
+        Thread.sleep(50);
+
+        assertEquals(stopped, clock.currentTimeMillis());
+    }
+
+    @Test
+    void testInvalidTick() {
+        assertThrows(IllegalArgumentException.class, () -> new CoarseTimeSource(0));
+    }
+}
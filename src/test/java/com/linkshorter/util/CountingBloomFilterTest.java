@@ -0,0 +1,68 @@
+package com.linkshorter.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingBloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(Base62.encode(i, 6));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(Base62.encode(i, 6)));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateNearTarget() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(Base62.encode(i, 6));
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(Base62.encode(i, 6))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void testRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("abc123");
+        filter.add("def456");
+
+        filter.remove("abc123");
+
+        assertFalse(filter.mightContain("abc123"));
+        assertTrue(filter.mightContain("def456"));
+    }
+
+    @Test
+    void testSaturatedCountersStay() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        for (int i = 0; i < 20; i++) {
+            filter.add("abc123");
+        }
+        for (int i = 0; i < 19; i++) {
+            filter.remove("abc123");
+        }
+
+        // Counters stuck at the maximum may give false positives, but never false negatives
+        assertTrue(filter.mightContain("abc123"));
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CountingBloomFilter(100, 1));
+    }
+}
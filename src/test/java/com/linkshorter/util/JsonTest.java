@@ -0,0 +1,22 @@
+package com.linkshorter.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void testAppendStringEscapes() {
+        StringBuilder out = new StringBuilder("x=");
+
+        Json.appendString(out, "a\"b\\c\nd\re\tf\u0001g/ü");
+
+        assertEquals("x=\"a\\\"b\\\\c\\nd\\re\\tf\\u0001g/ü\"", out.toString());
+    }
+
+    @Test
+    void testAppendEmptyString() {
+        assertEquals("\"\"", Json.appendString(new StringBuilder(), "").toString());
+    }
+}
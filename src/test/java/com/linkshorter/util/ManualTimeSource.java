@@ -0,0 +1,27 @@
+package com.linkshorter.util;
+
+import java.time.Duration;
+
+/**
+ * Clock that only moves when a test moves it
+ */
+public class ManualTimeSource implements TimeSource {
+    private volatile long now;
+
+    public ManualTimeSource(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    public void set(long millis) {
+        now = millis;
+    }
+
+    public void advance(Duration duration) {
+        now += duration.toMillis();
+    }
+}